@@ -1,13 +1,27 @@
 package dev.shadowsoffire.gateways;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import dev.shadowsoffire.gateways.command.GatewayCommand;
 import dev.shadowsoffire.gateways.entity.GatewayEntity;
+import dev.shadowsoffire.gateways.entity.ai.TargetingService;
+import dev.shadowsoffire.gateways.gate.AiProfile;
+import dev.shadowsoffire.gateways.gate.WaveEntity.HordeWaveEntity;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.common.util.FakePlayer;
 import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
 import net.minecraftforge.event.entity.EntityTeleportEvent;
 import net.minecraftforge.event.entity.living.LivingConversionEvent;
+import net.minecraftforge.event.entity.living.LivingDamageEvent;
+import net.minecraftforge.event.entity.living.LivingDropsEvent;
+import net.minecraftforge.event.entity.living.LivingExperienceDropEvent;
 import net.minecraftforge.event.entity.living.LivingHurtEvent;
 import net.minecraftforge.event.entity.living.MobSpawnEvent.AllowDespawn;
 import net.minecraftforge.eventbus.api.Event.Result;
@@ -48,9 +62,47 @@ public class GatewayEvents {
         if (gate != null) {
             boolean isPlayerDamage = e.getSource().getEntity() instanceof Player p && !(p instanceof FakePlayer);
             if (!isPlayerDamage && gate.getGateway().rules().playerDamageOnly()) e.setCanceled(true);
+            else if (e.getEntity() instanceof Mob mob && e.getSource().getEntity() instanceof LivingEntity attacker) TargetingService.retaliate(mob, attacker);
+        }
+    }
+
+    @SubscribeEvent
+    public void join(EntityJoinLevelEvent e) {
+        if (!e.getLevel().isClientSide && e.getEntity() instanceof Mob mob) AiProfile.applyStored(mob);
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void hordeDamage(LivingDamageEvent e) {
+        if (HordeWaveEntity.getStack(e.getEntity()) > 1) {
+            e.setAmount(HordeWaveEntity.absorbDamage(e.getEntity(), e.getAmount()));
         }
     }
 
+    @SubscribeEvent(priority = EventPriority.LOW)
+    public void hordeDrops(LivingDropsEvent e) {
+        int size = HordeWaveEntity.getHordeSize(e.getEntity());
+        if (size <= 1) return;
+        List<ItemEntity> extra = new ArrayList<>();
+        for (ItemEntity item : e.getDrops()) {
+            ItemStack stack = item.getItem();
+            int remaining = stack.getCount() * (size - 1);
+            while (remaining > 0) {
+                ItemStack copy = stack.copyWithCount(Math.min(remaining, stack.getMaxStackSize()));
+                remaining -= copy.getCount();
+                ItemEntity copyEntity = new ItemEntity(item.level(), item.getX(), item.getY(), item.getZ(), copy);
+                copyEntity.setDefaultPickUpDelay();
+                extra.add(copyEntity);
+            }
+        }
+        e.getDrops().addAll(extra);
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOW)
+    public void hordeExperience(LivingExperienceDropEvent e) {
+        int size = HordeWaveEntity.getHordeSize(e.getEntity());
+        if (size > 1) e.setDroppedExperience(e.getDroppedExperience() * size);
+    }
+
     @SubscribeEvent(priority = EventPriority.LOWEST)
     public void despawn(AllowDespawn e) {
         if (GatewayEntity.getOwner(e.getEntity()) != null) e.setResult(Result.DENY);
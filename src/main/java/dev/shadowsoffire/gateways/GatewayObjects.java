@@ -5,6 +5,7 @@ import com.mojang.serialization.Codec;
 import dev.shadowsoffire.gateways.client.GatewayParticleData;
 import dev.shadowsoffire.gateways.client.GatewayTickableSound;
 import dev.shadowsoffire.gateways.entity.EndlessGatewayEntity;
+import dev.shadowsoffire.gateways.entity.GatePhase;
 import dev.shadowsoffire.gateways.entity.NormalGatewayEntity;
 import dev.shadowsoffire.gateways.item.GatePearlItem;
 import dev.shadowsoffire.gateways.recipe.GatewayRecipeSerializer;
@@ -12,6 +13,7 @@ import dev.shadowsoffire.placebo.registry.DeferredHelper;
 import net.minecraft.core.particles.ParticleType;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.syncher.EntityDataSerializer;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.sounds.SoundEvent;
@@ -20,6 +22,7 @@ import net.minecraft.world.entity.MobCategory;
 import net.minecraft.world.item.CreativeModeTab;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.Rarity;
+import net.minecraftforge.registries.ForgeRegistries;
 import net.minecraftforge.registries.RegistryObject;
 
 public class GatewayObjects {
@@ -71,6 +74,8 @@ public class GatewayObjects {
 
     public static final RegistryObject<ResourceLocation> GATES_DEFEATED = R.custom("gates_defeated", Registries.CUSTOM_STAT, () -> Gateways.loc("gates_defeated"));
 
+    public static final RegistryObject<EntityDataSerializer<GatePhase>> GATE_PHASE = R.custom("gate_phase", ForgeRegistries.Keys.ENTITY_DATA_SERIALIZERS, () -> GatePhase.SERIALIZER);
+
     private static RegistryObject<SoundEvent> sound(String name) {
         return R.sound(name, () -> SoundEvent.createVariableRangeEvent(Gateways.loc(name)));
     }
@@ -3,13 +3,17 @@ package dev.shadowsoffire.gateways;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import dev.shadowsoffire.gateways.entity.GatewayScheduler;
+import dev.shadowsoffire.gateways.entity.HudSelector;
 import dev.shadowsoffire.gateways.gate.Failure;
 import dev.shadowsoffire.gateways.gate.GatewayRegistry;
 import dev.shadowsoffire.gateways.gate.Reward;
 import dev.shadowsoffire.gateways.gate.WaveEntity;
 import dev.shadowsoffire.gateways.gate.WaveModifier;
 import dev.shadowsoffire.gateways.gate.endless.ApplicationMode;
+import dev.shadowsoffire.gateways.net.BossHudMessage;
 import dev.shadowsoffire.gateways.net.ParticleMessage;
+import dev.shadowsoffire.gateways.net.RosterMessage;
 import dev.shadowsoffire.placebo.network.MessageHelper;
 import dev.shadowsoffire.placebo.tabs.TabFillingRegistry;
 import net.minecraft.resources.ResourceLocation;
@@ -38,8 +42,13 @@ public class Gateways {
 
     public Gateways() {
         FMLJavaModLoadingContext.get().getModEventBus().register(this);
+        GatewaysConfig.load();
         MessageHelper.registerMessage(CHANNEL, 0, new ParticleMessage.Provider());
+        MessageHelper.registerMessage(CHANNEL, 1, new RosterMessage.Provider());
+        MessageHelper.registerMessage(CHANNEL, 2, new BossHudMessage.Provider());
         MinecraftForge.EVENT_BUS.register(new GatewayEvents());
+        MinecraftForge.EVENT_BUS.register(GatewayScheduler.INSTANCE);
+        MinecraftForge.EVENT_BUS.register(HudSelector.INSTANCE);
         GatewayObjects.bootstrap();
     }
 
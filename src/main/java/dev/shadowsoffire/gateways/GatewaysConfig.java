@@ -0,0 +1,80 @@
+package dev.shadowsoffire.gateways;
+
+import dev.shadowsoffire.placebo.config.Configuration;
+
+public class GatewaysConfig {
+
+    public static boolean asyncSpawnSearch = false;
+
+    public static boolean aiLod = true;
+    public static float aiLodNearRange = 24;
+    public static float aiLodFarRange = 48;
+    public static int aiLodMidRate = 6;
+    public static int aiLodFarRate = 20;
+
+    public static boolean flowFieldPathing = false;
+    public static boolean centralTargeting = false;
+
+    public static float schedulerBudget = 2;
+
+    public static float dormancyRange = 64;
+    public static boolean dormantFreezeAi = true;
+
+    public static int maxHudGateways = 3;
+
+    public static int particleBudget = 400;
+    public static float particleFullRange = 24;
+    public static float particleCutoffRange = 64;
+    public static boolean particleViewCull = true;
+    public static float nameplateRange = 32;
+    public static float gatewayDetailRange = 64;
+
+    public static void load() {
+        Configuration cfg = new Configuration(Gateways.MODID);
+        cfg.setTitle("Gateways to Eternity Config");
+
+        asyncSpawnSearch = cfg.getBoolean("Async Spawn Search", "spawning", asyncSpawnSearch,
+            "If true, Gateways will copy the chunks around them at the start of each setup phase, and search those copies for spawn positions on a worker thread.\n"
+                + "The positions found are re-checked against the world when the wave starts. This only applies to Gateways using the reachable_surface spawn algorithm, or to all Gateways when Flow Field Pathing is enabled.");
+
+        aiLod = cfg.getBoolean("AI Level of Detail", "ai", aiLod,
+            "If true, wave entities that are far from every player will attempt to start new goals (including target scans) less often.");
+        aiLodNearRange = cfg.getFloat("AI LOD Near Range", "ai", aiLodNearRange, 0, 256, "Wave entities within this distance of a player use their full AI.");
+        aiLodFarRange = cfg.getFloat("AI LOD Far Range", "ai", aiLodFarRange, 0, 256, "Wave entities further than this distance from every player use the far goal rate.");
+        aiLodMidRate = cfg.getInt("AI LOD Mid Rate", "ai", aiLodMidRate, 1, 100, "The interval, in ticks, at which wave entities between the near and far range attempt to start new goals. Vanilla mobs do so every 2 ticks.");
+        aiLodFarRate = cfg.getInt("AI LOD Far Rate", "ai", aiLodFarRate, 1, 100, "The interval, in ticks, at which wave entities beyond the far range attempt to start new goals.");
+
+        flowFieldPathing = cfg.getBoolean("Flow Field Pathing", "ai", flowFieldPathing,
+            "If true, each Gateway computes a single distance map toward the summoner, and ground-based melee wave entities follow it instead of computing their own paths.\n"
+                + "Wave entities switch back to their own pathing when close to their target.");
+
+        centralTargeting = cfg.getBoolean("Central Targeting", "ai", centralTargeting,
+            "If true, each Gateway assigns targets to its wave entities once per second, and the target goals of wave entities are disabled.\n"
+                + "Wave entities still retaliate against anything that attacks them.");
+
+        schedulerBudget = cfg.getFloat("Scheduler Budget", "general", schedulerBudget, 0, 50,
+            "The time, in milliseconds, that may be spent on the periodic work of all Gateways (such as checking wave entities and dropping rewards) each tick.\n"
+                + "Work beyond this budget is delayed to the next tick. At least one task is always run per tick.");
+        dormancyRange = cfg.getFloat("Dormancy Range", "general", dormancyRange, 0, 1024,
+            "If no player is within this distance of a Gateway, it becomes dormant. Dormant Gateways pause their timers and stop all periodic work until a player returns.\n"
+                + "Set to 0 to disable dormancy.");
+        dormantFreezeAi = cfg.getBoolean("Freeze Dormant AI", "general", dormantFreezeAi, "If true, the AI of wave entities is disabled while their Gateway is dormant.");
+
+        maxHudGateways = cfg.getInt("Max HUD Gateways", "general", maxHudGateways, 0, 64,
+            "The maximum number of Gateway HUDs shown to each player at once. Gateways summoned by the player, Gateways with an active wave, and the nearest Gateways are shown first.\n"
+                + "The remaining Gateways are listed in a single summary bar. Set to 0 to show every Gateway.");
+
+        particleBudget = cfg.getInt("Particle Budget", "client", particleBudget, 0, 10000, "The maximum number of Gateway particles spawned per client tick. Particles beyond the budget are skipped.");
+        particleFullRange = cfg.getFloat("Particle Full Detail Range", "client", particleFullRange, 0, 256, "Gateway particle effects within this distance of the camera are spawned in full.");
+        particleCutoffRange = cfg.getFloat("Particle Cutoff Range", "client", particleCutoffRange, 0, 256,
+            "Gateway particle effects further than this distance from the camera are not spawned. Between the full detail range and this range, fewer particles are spawned.");
+        particleViewCull = cfg.getBoolean("Particle View Culling", "client", particleViewCull, "If true, Gateway particle effects behind the camera are not spawned.");
+
+        nameplateRange = cfg.getFloat("Nameplate Range", "client", nameplateRange, 0, 256, "Gateways that draw their HUD as a nameplate only draw it within this distance of the camera.");
+        gatewayDetailRange = cfg.getFloat("Gateway Detail Range", "client", gatewayDetailRange, 0, 512,
+            "Gateways further than this distance from the camera are drawn as a plain billboard facing the camera, instead of turning toward the player.");
+
+        if (cfg.hasChanged()) cfg.save();
+    }
+
+}
@@ -170,17 +170,15 @@ public class EndlessGateClient {
 
     public static void renderBossBar(GatewayEntity gateEntity, Object guiGfx, int x, int y, boolean isInWorld) {
         EndlessGatewayEntity gate = (EndlessGatewayEntity) gateEntity;
+        GatewayHudModel hud = GatewayHud.getModel(gate, EndlessGateClient::buildHud);
         GuiGraphics gfx = (GuiGraphics) guiGfx;
         PoseStack pose = gfx.pose();
         int color = gate.getGateway().color().getValue();
         int r = color >> 16 & 255, g = color >> 8 & 255, b = color & 255;
         RenderSystem.setShaderColor(r / 255F, g / 255F, b / 255F, 1.0F);
 
-        int wave = gate.getWave() + 1;
-        int enemies = gate.getActiveEnemies();
-        int maxEnemies = gate.getMaxEnemies();
-        int modifiers = gate.getModifiersApplied();
-        int lineHeight = Minecraft.getInstance().font.lineHeight;
+        Font font = Minecraft.getInstance().font;
+        int lineHeight = font.lineHeight;
 
         int yBar1 = y + 6 + lineHeight;
         int yBar2 = yBar1 + 10 + lineHeight;
@@ -194,21 +192,21 @@ public class EndlessGateClient {
 
         int barWidth = 183;
 
-        float maxTime = gate.getMaxWaveTime();
+        float maxTime = gate.getPhase().duration();
+        float ticks = gate.getTicksActive() + Minecraft.getInstance().getFrameTime();
         if (gate.isWaveActive()) {
-            barWidth = (int) (183.0F * enemies / maxEnemies);
+            barWidth = (int) (183.0F * hud.progress);
             if (barWidth > 0) {
                 gfx.blit(BARS, x, yBar1, 0, 6 * 5 * 2 + 5, barWidth, 5, 256, 256);
             }
 
-            barWidth = (int) ((maxTime - gate.getTicksActive()) / maxTime * 183.0F);
+            barWidth = (int) ((maxTime - ticks) / maxTime * 183.0F);
             if (barWidth > 0) {
                 gfx.blit(BARS, x, yBar2, 0, 6 * 5 * 2 + 5, barWidth, 5, 256, 256);
             }
         }
         else {
-            maxTime = gate.getSetupTime();
-            barWidth = (int) (gate.getTicksActive() / maxTime * 183.0F);
+            barWidth = (int) (ticks / maxTime * 183.0F);
             if (barWidth > 0) {
                 gfx.blit(BARS, x, yBar1, 0, 6 * 5 * 2 + 5, barWidth, 5, 256, 256);
                 gfx.blit(BARS, x, yBar2, 0, 6 * 5 * 2 + 5, barWidth, 5, 256, 256);
@@ -216,46 +214,37 @@ public class EndlessGateClient {
         }
 
         RenderSystem.setShaderColor(1, 1, 1, 1);
+
+        hud.title.draw(gfx, font, x + 182 / 2, textY, isInWorld);
+        hud.lines[0].draw(gfx, font, x + 182 / 2, yBar1 - lineHeight, isInWorld);
+        hud.lines[1].draw(gfx, font, x + 182 / 2, yBar2 - lineHeight, isInWorld);
+    }
+
+    /**
+     * Prepares the text and enemy bar of the HUD. Called by {@link GatewayHud#getModel} when the state of the gateway changes.
+     */
+    public static void buildHud(GatewayEntity gateEntity, GatewayHudModel hud) {
+        EndlessGatewayEntity gate = (EndlessGatewayEntity) gateEntity;
         Font font = Minecraft.getInstance().font;
+        int wave = gate.getWave() + 1;
+        int enemies = gate.getActiveEnemies();
+        int maxEnemies = gate.getMaxEnemies();
+        int modifiers = gate.getModifiersApplied();
 
-        Component component = Component.literal(gate.getCustomName().getString()).withStyle(ChatFormatting.GOLD, ChatFormatting.UNDERLINE);
-        int strWidth = font.width(component);
-        int textX = x + 182 / 2 - strWidth / 2;
-        if (isInWorld) {
-            GatewaysClient.drawReversedDropShadow(gfx, font, component, textX, textY);
-        }
-        else {
-            gfx.drawString(font, component, textX, textY, 16777215, true);
-        }
+        hud.progress = maxEnemies > 0 ? (float) enemies / maxEnemies : 0;
+        hud.title = GatewayHudModel.Line.of(Component.literal(gate.getCustomName().getString()).withStyle(ChatFormatting.GOLD, ChatFormatting.UNDERLINE), font);
 
-        int time = (int) maxTime - gate.getTicksActive();
+        int time = gate.getTicksRemaining();
         String str = I18n.get("boss.gateways.endless.top", wave, '\u221E', StringUtil.formatTickDuration(time));
         String str2 = I18n.get("boss.gateways.endless.bot", enemies, maxEnemies, modifiers);
         if (!gate.isWaveActive()) {
             str = I18n.get("boss.gateways.starting", wave, StringUtil.formatTickDuration(time));
             str2 = I18n.get("boss.gateways.endless.incoming", maxEnemies);
         }
-        component = Component.literal(str).withStyle(ChatFormatting.GREEN);
-        strWidth = font.width(component);
-        textX = x + 182 / 2 - strWidth / 2;
-        textY = yBar1 - lineHeight;
-        if (isInWorld) {
-            GatewaysClient.drawReversedDropShadow(gfx, font, component, textX, textY);
-        }
-        else {
-            gfx.drawString(font, component, textX, textY, 16777215, true);
-        }
-
-        component = Component.literal(str2).withStyle(ChatFormatting.GREEN);
-        strWidth = font.width(component);
-        textX = x + 182 / 2 - strWidth / 2;
-        textY = yBar2 - lineHeight;
-        if (isInWorld) {
-            GatewaysClient.drawReversedDropShadow(gfx, font, component, textX, textY);
-        }
-        else {
-            gfx.drawString(font, component, textX, textY, 16777215, true);
-        }
+        hud.lines = new GatewayHudModel.Line[] {
+            GatewayHudModel.Line.of(Component.literal(str).withStyle(ChatFormatting.GREEN), font),
+            GatewayHudModel.Line.of(Component.literal(str2).withStyle(ChatFormatting.GREEN), font)
+        };
     }
 
 }
@@ -0,0 +1,73 @@
+package dev.shadowsoffire.gateways.client;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nullable;
+
+import dev.shadowsoffire.gateways.entity.GatewayEntity;
+import dev.shadowsoffire.gateways.net.BossHudMessage;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.BossEvent;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+
+/**
+ * Tracks which boss events on the client belong to Gateways, as registered by the server through {@link BossHudMessage}.
+ */
+public class GatewayHud {
+
+    private static final Object2IntMap<UUID> GATES_BY_BOSS = new Object2IntOpenHashMap<>();
+    private static final Map<GatewayEntity, GatewayHudModel> MODELS = new WeakHashMap<>();
+
+    static {
+        GATES_BY_BOSS.defaultReturnValue(-1);
+    }
+
+    public static void handle(BossHudMessage msg) {
+        if (msg.register) {
+            GATES_BY_BOSS.put(msg.bossId, msg.gateId);
+        }
+        else {
+            GATES_BY_BOSS.removeInt(msg.bossId);
+        }
+    }
+
+    /**
+     * Checks if the boss event was registered by a Gateway, in which case the vanilla boss bar should not be drawn.
+     */
+    public static boolean isGateway(BossEvent boss) {
+        return GATES_BY_BOSS.containsKey(boss.getId());
+    }
+
+    /**
+     * Returns the Gateway that owns the boss event, or null if the boss event is not owned by a Gateway, or the Gateway is not loaded.
+     */
+    @Nullable
+    public static GatewayEntity getGateway(BossEvent boss) {
+        int id = GATES_BY_BOSS.getInt(boss.getId());
+        if (id == -1) return null;
+        return Minecraft.getInstance().level.getEntity(id) instanceof GatewayEntity gate && gate.isValid() ? gate : null;
+    }
+
+    /**
+     * Returns the HUD model of the gateway, rebuilding it first if the state of the gateway has changed since it was last built.
+     *
+     * @param gate    The gateway.
+     * @param builder The function which fills in the model for this type of gateway.
+     */
+    public static GatewayHudModel getModel(GatewayEntity gate, BiConsumer<GatewayEntity, GatewayHudModel> builder) {
+        GatewayHudModel model = MODELS.computeIfAbsent(gate, g -> new GatewayHudModel());
+        if (model.update(gate)) builder.accept(gate, model);
+        return model;
+    }
+
+    public static void loggedOut(ClientPlayerNetworkEvent.LoggingOut e) {
+        GATES_BY_BOSS.clear();
+        MODELS.clear();
+    }
+
+}
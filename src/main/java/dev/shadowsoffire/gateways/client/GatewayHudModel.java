@@ -0,0 +1,95 @@
+package dev.shadowsoffire.gateways.client;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+
+import dev.shadowsoffire.gateways.entity.GatePhase;
+import dev.shadowsoffire.gateways.entity.GatewayEntity;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.Style;
+import net.minecraft.util.FormattedCharSequence;
+
+/**
+ * The prepared text and bar state of a Gateway's HUD.
+ * <p>
+ * The model is only rebuilt when the synced phase or enemy count of the Gateway changes, or when the displayed second of the timer changes, so drawing the
+ * HUD each frame does not need to format or measure any text.
+ */
+public class GatewayHudModel {
+
+    protected GatePhase phase;
+    protected int enemies = -1;
+    protected int seconds = -1;
+
+    /**
+     * The name of the Gateway, drawn above the HUD.
+     */
+    public Line title = Line.EMPTY;
+
+    /**
+     * The lines of text drawn above each bar.
+     */
+    public Line[] lines = new Line[0];
+
+    /**
+     * The filled fraction of the progress bar, which is either the wave progress or the fraction of remaining enemies, depending on the Gateway.
+     */
+    public float progress;
+
+    /**
+     * Checks if the model is out of date for the current state of the gateway, and records the new state if it is.
+     */
+    public boolean update(GatewayEntity gate) {
+        GatePhase phase = gate.getPhase();
+        int enemies = gate.getActiveEnemies();
+        int seconds = Math.max(0, gate.getTicksRemaining()) / 20;
+        if (phase.equals(this.phase) && enemies == this.enemies && seconds == this.seconds) return false;
+        this.phase = phase;
+        this.enemies = enemies;
+        this.seconds = seconds;
+        return true;
+    }
+
+    /**
+     * A line of prepared text.
+     *
+     * @param text        The styled text.
+     * @param plain       The text without styling, used to draw the drop shadow in-world.
+     * @param width       The width of the text, in pixels.
+     * @param shadowColor The color of the in-world drop shadow.
+     */
+    public static record Line(FormattedCharSequence text, FormattedCharSequence plain, int width, int shadowColor) {
+
+        public static final Line EMPTY = new Line(FormattedCharSequence.EMPTY, FormattedCharSequence.EMPTY, 0, 0);
+
+        public static Line of(Component comp, Font font) {
+            FormattedCharSequence text = comp.getVisualOrderText();
+            int color = comp.getStyle().getColor() == null ? 0xFFFFFF : comp.getStyle().getColor().getValue();
+            int r = ((color >> 16) & 0xFF) / 4;
+            int g = ((color >> 8) & 0xFF) / 4;
+            int b = ((color) & 0xFF) / 4;
+            return new Line(text, FormattedCharSequence.forward(comp.getString(), Style.EMPTY), font.width(text), 0xFF << 24 | r << 16 | g << 8 | b);
+        }
+
+        /**
+         * Draws the line centered on the given x coordinate.<br>
+         * When rendering in-world, the rotation causes the drop shadow to be rendered behind the original text, so the shadow is drawn manually.
+         */
+        public void draw(GuiGraphics gfx, Font font, int centerX, int y, boolean isInWorld) {
+            int x = centerX - this.width / 2;
+            if (isInWorld) {
+                gfx.drawString(font, this.text, x, y, 0, false);
+                PoseStack pose = gfx.pose();
+                pose.pushPose();
+                pose.translate(1, 1, 0.03);
+                gfx.drawString(font, this.plain, x, y, this.shadowColor, false);
+                pose.popPose();
+            }
+            else {
+                gfx.drawString(font, this.text, x, y, 16777215, true);
+            }
+        }
+    }
+
+}
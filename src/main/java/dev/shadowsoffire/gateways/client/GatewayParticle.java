@@ -7,10 +7,8 @@ import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.BufferBuilder;
 import com.mojang.blaze3d.vertex.DefaultVertexFormat;
 import com.mojang.blaze3d.vertex.Tesselator;
-import com.mojang.blaze3d.vertex.VertexConsumer;
 import com.mojang.blaze3d.vertex.VertexFormat;
 
-import net.minecraft.client.Camera;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.particle.ParticleRenderType;
 import net.minecraft.client.particle.TextureSheetParticle;
@@ -23,6 +21,9 @@ import net.minecraft.world.level.Level;
 @SuppressWarnings("deprecation")
 public class GatewayParticle extends TextureSheetParticle {
 
+    /**
+     * Draws all gateway particles in a single batch, with additive blending and without depth testing.
+     */
     static final ParticleRenderType RENDER_TYPE = new ParticleRenderType(){
         @Override
         public void begin(BufferBuilder bufferBuilder, TextureManager textureManager) {
@@ -40,6 +41,9 @@ public class GatewayParticle extends TextureSheetParticle {
         @Override
         public void end(Tesselator tesselator) {
             tesselator.end();
+            RenderSystem.enableDepthTest();
+            GlStateManager._enableCull();
+            RenderSystem.defaultBlendFunc();
         }
 
         @Override
@@ -57,13 +61,7 @@ public class GatewayParticle extends TextureSheetParticle {
         this.xd = velX;
         this.yd = velY;
         this.zd = velZ;
-    }
-
-    @Override
-    public void render(VertexConsumer pBuffer, Camera pRenderInfo, float pPartialTicks) {
-        RENDER_TYPE.begin((BufferBuilder) pBuffer, null);
-        super.render(pBuffer, pRenderInfo, pPartialTicks);
-        RENDER_TYPE.end(Tesselator.getInstance());
+        this.hasPhysics = data.physics;
     }
 
     @Override
@@ -73,7 +71,7 @@ public class GatewayParticle extends TextureSheetParticle {
 
     @Override
     public ParticleRenderType getRenderType() {
-        return ParticleRenderType.CUSTOM;
+        return RENDER_TYPE;
     }
 
     @Override
@@ -91,6 +89,7 @@ public class GatewayParticle extends TextureSheetParticle {
             this.remove();
         }
         else {
+            // Without physics, move() only offsets the bounding box, which is still needed for frustum culling.
             this.move(this.xd, this.yd, this.zd);
             if (this.y == this.yo) {
                 this.xd *= 1.1D;
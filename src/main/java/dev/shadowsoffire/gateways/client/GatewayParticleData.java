@@ -18,14 +18,28 @@ public class GatewayParticleData implements ParticleOptions {
 
     public final float red, green, blue;
 
-    public GatewayParticleData(float r, float g, float b) {
+    /**
+     * If the particle collides with blocks. Particles without physics only integrate their velocity, which is much cheaper to tick.
+     */
+    public final boolean physics;
+
+    public GatewayParticleData(float r, float g, float b, boolean physics) {
         this.red = r;
         this.green = g;
         this.blue = b;
+        this.physics = physics;
+    }
+
+    public GatewayParticleData(float r, float g, float b) {
+        this(r, g, b, true);
+    }
+
+    public GatewayParticleData(int r, int g, int b, boolean physics) {
+        this(r / 255F, g / 255F, b / 255F, physics);
     }
 
     public GatewayParticleData(int r, int g, int b) {
-        this(r / 255F, g / 255F, b / 255F);
+        this(r, g, b, true);
     }
 
     @Override
@@ -39,6 +53,8 @@ public class GatewayParticleData implements ParticleOptions {
         return data.green;
     }), Codec.FLOAT.fieldOf("b").forGetter((data) -> {
         return data.blue;
+    }), Codec.BOOL.optionalFieldOf("physics", true).forGetter((data) -> {
+        return data.physics;
     })).apply(builder, GatewayParticleData::new));
 
     public static final ParticleOptions.Deserializer<GatewayParticleData> DESERIALIZER = new ParticleOptions.Deserializer<>(){
@@ -50,12 +66,21 @@ public class GatewayParticleData implements ParticleOptions {
             float f1 = (float) reader.readDouble();
             reader.expect(' ');
             float f2 = (float) reader.readDouble();
-            return new GatewayParticleData(f, f1, f2);
+            boolean physics = true;
+            // The physics flag is optional, so only consume the next word if it is a boolean, leaving the rest of the command (such as the position) intact.
+            int cursor = reader.getCursor();
+            if (reader.canRead(2) && reader.peek() == ' ') {
+                reader.skip();
+                String word = reader.readUnquotedString();
+                if ("true".equals(word) || "false".equals(word)) physics = Boolean.parseBoolean(word);
+                else reader.setCursor(cursor);
+            }
+            return new GatewayParticleData(f, f1, f2, physics);
         }
 
         @Override
         public GatewayParticleData fromNetwork(ParticleType<GatewayParticleData> type, FriendlyByteBuf buf) {
-            return new GatewayParticleData(buf.readFloat(), buf.readFloat(), buf.readFloat());
+            return new GatewayParticleData(buf.readFloat(), buf.readFloat(), buf.readFloat(), buf.readBoolean());
         }
     };
 
@@ -64,10 +89,11 @@ public class GatewayParticleData implements ParticleOptions {
         buffer.writeFloat(this.red);
         buffer.writeFloat(this.green);
         buffer.writeFloat(this.blue);
+        buffer.writeBoolean(this.physics);
     }
 
     @Override
     public String writeToString() {
-        return String.format(Locale.ROOT, "%s %.2f %.2f %.2f", BuiltInRegistries.PARTICLE_TYPE.getKey(this.getType()), this.red, this.green, this.blue);
+        return String.format(Locale.ROOT, "%s %.2f %.2f %.2f %s", BuiltInRegistries.PARTICLE_TYPE.getKey(this.getType()), this.red, this.green, this.blue, this.physics);
     }
 }
@@ -7,6 +7,7 @@ import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.VertexConsumer;
 
 import dev.shadowsoffire.gateways.Gateways;
+import dev.shadowsoffire.gateways.GatewaysConfig;
 import dev.shadowsoffire.gateways.entity.GatewayEntity;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
@@ -19,12 +20,16 @@ import net.minecraft.client.renderer.texture.OverlayTexture;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.phys.Vec3;
 
 public class GatewayRenderer extends EntityRenderer<GatewayEntity> {
 
     public static final ResourceLocation TEXTURE = new ResourceLocation(Gateways.MODID, "textures/entity/gateway.png");
 
+    /**
+     * The rotation applied to face the gateway toward the player, reused between frames.
+     */
+    protected final Quaternionf facing = new Quaternionf();
+
     public GatewayRenderer(EntityRendererProvider.Context mgr) {
         super(mgr);
     }
@@ -40,22 +45,29 @@ public class GatewayRenderer extends EntityRenderer<GatewayEntity> {
 
         matrix.pushPose();
         Player player = Minecraft.getInstance().player;
-        Vec3 playerV = player.getEyePosition(partialTicks);
-        Vec3 portal = gate.position();
+        double dx = Mth.lerp(partialTicks, player.xo, player.getX()) - gate.getX();
+        double dz = Mth.lerp(partialTicks, player.zo, player.getZ()) - gate.getZ();
+        double distSq = this.entityRenderDispatcher.distanceToSqr(gate);
 
         float baseScale = gate.getGateway().size().getScale();
         float scale = baseScale;
         double yOffset = gate.getBbHeight() / 2;
 
-        // Rotate to face the player
         matrix.translate(0, yOffset, 0);
-        matrix.mulPose(new Quaternionf().rotationAxis(Mth.DEG_TO_RAD * 90, 0, 1, 0));
-        matrix.mulPose(new Quaternionf().rotationAxis(Mth.DEG_TO_RAD * (180F - (float) angleOf(portal, playerV)), 0, 1, 0));
+        float detailRange = GatewaysConfig.gatewayDetailRange;
+        if (distSq > detailRange * detailRange) {
+            // Distant gateways are drawn as a plain billboard, which does not need a facing computed.
+            matrix.mulPose(this.entityRenderDispatcher.cameraOrientation());
+        }
+        else {
+            // Rotate to face the player
+            matrix.mulPose(this.computeFacing(dx, dz));
+        }
         matrix.scale(2, 1, 1);
 
         if (!gate.isWaveActive() && gate.isCompleted()) {
             float time = gate.getTicksActive() + partialTicks;
-            float maxTime = gate.getSetupTime();
+            float maxTime = gate.getPhase().duration();
             if (time <= maxTime) scale = Mth.lerp(time / maxTime, gate.getClientScale(), baseScale);
         }
         else {
@@ -92,7 +104,8 @@ public class GatewayRenderer extends EntityRenderer<GatewayEntity> {
         builder.vertex(matrix.last().pose(), 1, -1, 0).color(r, g, b, 255).uv(0, 1 - frame * frameHeight).overlayCoords(OverlayTexture.NO_OVERLAY).uv2(packedLight).normal(matrix.last().normal(), 0, 1, 0).endVertex();
         matrix.popPose();
 
-        if (gate.getGateway().bossSettings().drawAsName()) {
+        float nameplateRange = GatewaysConfig.nameplateRange;
+        if (gate.getGateway().bossSettings().drawAsName() && distSq <= nameplateRange * nameplateRange) {
             matrix.pushPose();
 
             matrix.translate(0.0F, gate.getBbHeight() + 1, 0.0F);
@@ -107,11 +120,23 @@ public class GatewayRenderer extends EntityRenderer<GatewayEntity> {
 
     }
 
-    public static double angleOf(Vec3 p1, Vec3 p2) {
-        final double deltaY = p2.z - p1.z;
-        final double deltaX = p2.x - p1.x;
-        final double result = Math.toDegrees(Math.atan2(deltaY, deltaX));
-        return result < 0 ? 360d + result : result;
+    /**
+     * Computes the rotation about the y axis which turns the portal toward the given horizontal offset from the gateway.
+     * <p>
+     * The rotation is {@code 270 - atan2(dz, dx)} degrees. Its quaternion is built from the half angle of the offset's direction, which avoids
+     * computing the angle itself.
+     */
+    protected Quaternionf computeFacing(double dx, double dz) {
+        double len = Math.sqrt(dx * dx + dz * dz);
+        double cos = len < 1.0E-6 ? 1 : dx / len;
+        // The half angle of atan2(dz, dx), whose sine has the sign of dz.
+        double halfCos = Math.sqrt((1 + cos) / 2);
+        double halfSin = Math.sqrt(Math.max(0, (1 - cos) / 2));
+        if (dz < 0) halfSin = -halfSin;
+        // Rotating by 270 - a degrees has a half angle of 135 - a / 2 degrees.
+        float sin = (float) (Mth.SQRT_OF_TWO / 2 * (halfCos + halfSin));
+        float w = (float) (Mth.SQRT_OF_TWO / 2 * (halfSin - halfCos));
+        return this.facing.set(0, sin, 0, w);
     }
 
 }
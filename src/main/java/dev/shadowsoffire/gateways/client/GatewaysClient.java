@@ -1,7 +1,5 @@
 package dev.shadowsoffire.gateways.client;
 
-import com.mojang.blaze3d.vertex.PoseStack;
-
 import dev.shadowsoffire.gateways.GatewayObjects;
 import dev.shadowsoffire.gateways.Gateways;
 import dev.shadowsoffire.gateways.entity.GatewayEntity;
@@ -9,17 +7,12 @@ import dev.shadowsoffire.gateways.gate.Gateway;
 import dev.shadowsoffire.gateways.item.GatePearlItem;
 import dev.shadowsoffire.placebo.PlaceboClient;
 import dev.shadowsoffire.placebo.reload.DynamicHolder;
-import net.minecraft.client.Minecraft;
-import net.minecraft.client.gui.Font;
-import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.renderer.item.ItemProperties;
-import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.BossEvent;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.Level;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.CustomizeGuiOverlayEvent;
 import net.minecraftforge.client.event.EntityRenderersEvent.RegisterRenderers;
@@ -47,6 +40,7 @@ public class GatewaysClient {
             });
         });
         MinecraftForge.EVENT_BUS.addListener(GatewaysClient::bossRenderPre);
+        MinecraftForge.EVENT_BUS.addListener(GatewayHud::loggedOut);
         MinecraftForge.EVENT_BUS.addListener(GatewaysClient::tooltip);
         MinecraftForge.EVENT_BUS.addListener(GatewaysClient::scroll);
         MinecraftForge.EVENT_BUS.addListener(GatewaysClient::scroll2);
@@ -101,32 +95,14 @@ public class GatewaysClient {
 
     public static void bossRenderPre(CustomizeGuiOverlayEvent.BossEventProgress event) {
         BossEvent boss = event.getBossEvent();
-        String name = boss.getName().getString();
-        if (name.startsWith("GATEWAY_ID")) {
-            Level level = Minecraft.getInstance().level;
+        if (GatewayHud.isGateway(boss)) {
             event.setCanceled(true);
-            if (level.getEntity(Integer.valueOf(name.substring(10))) instanceof GatewayEntity gate && gate.isValid()) {
+            GatewayEntity gate = GatewayHud.getGateway(boss);
+            if (gate != null) {
                 gate.getGateway().renderBossBar(gate, event.getGuiGraphics(), event.getX(), event.getY(), false);
                 event.setIncrement(event.getIncrement() * 2);
             }
         }
     }
 
-    /**
-     * When rendering the string in-world, the rotation causes the drop shadow to be rendered behind the original text.
-     */
-    public static void drawReversedDropShadow(GuiGraphics gfx, Font font, Component comp, int x, int y) {
-        gfx.drawString(font, comp, x, y, 0, false);
-        PoseStack pose = gfx.pose();
-        pose.pushPose();
-        pose.translate(1, 1, 0.03);
-        int color = comp.getStyle().getColor().getValue();
-        int r = ((color >> 16) & 0xFF) / 4;
-        int g = ((color >> 8) & 0xFF) / 4;
-        int b = ((color) & 0xFF) / 4;
-        color = 0xFF << 24 | r << 16 | g << 8 | b;
-        gfx.drawString(font, comp.getString(), x, y, color, false);
-        pose.popPose();
-    }
-
 }
@@ -130,17 +130,15 @@ public class NormalGateClient {
 
     public static void renderBossBar(GatewayEntity gateEntity, Object guiGfx, int x, int y, boolean isInWorld) {
         NormalGatewayEntity gate = (NormalGatewayEntity) gateEntity;
+        GatewayHudModel hud = GatewayHud.getModel(gate, NormalGateClient::buildHud);
         GuiGraphics gfx = (GuiGraphics) guiGfx;
         PoseStack pose = gfx.pose();
         int color = gate.getGateway().color().getValue();
         int r = color >> 16 & 255, g = color >> 8 & 255, b = color & 255;
         RenderSystem.setShaderColor(r / 255F, g / 255F, b / 255F, 1.0F);
 
-        int wave = gate.getWave() + 1;
-        int maxWave = gate.getGateway().getNumWaves();
-        int enemies = gate.getActiveEnemies();
-        int maxEnemies = gate.getCurrentWave().entities().stream().mapToInt(WaveEntity::getCount).sum();
-        int y2 = y + 10 + Minecraft.getInstance().font.lineHeight;
+        Font font = Minecraft.getInstance().font;
+        int y2 = y + 10 + font.lineHeight;
 
         pose.pushPose();
         pose.translate(0, 0, 0.01);
@@ -148,40 +146,45 @@ public class NormalGateClient {
         gfx.blit(BARS, x, y2, 0, 6 * 5 * 2, 182, 5, 256, 256);
         pose.popPose();
 
-        float waveProgress = 1F / maxWave;
-        float progress = waveProgress * (maxWave - wave + 1);
-        if (gate.isWaveActive()) progress -= waveProgress * ((float) (maxEnemies - enemies) / maxEnemies);
-
-        int i = (int) (progress * 183.0F);
+        int i = (int) (hud.progress * 183.0F);
         if (i > 0) gfx.blit(BARS, x, y, 0, 6 * 5 * 2 + 5, i, 5, 256, 256);
 
-        float maxTime = gate.getMaxWaveTime();
+        float maxTime = gate.getPhase().duration();
+        float ticks = gate.getTicksActive() + Minecraft.getInstance().getFrameTime();
         if (gate.isWaveActive()) {
-            i = (int) ((maxTime - gate.getTicksActive()) / maxTime * 183.0F);
+            i = (int) ((maxTime - ticks) / maxTime * 183.0F);
             if (i > 0) gfx.blit(BARS, x, y2, 0, 6 * 5 * 2 + 5, i, 5, 256, 256);
         }
         else {
-            maxTime = gate.getSetupTime();
-            i = (int) (gate.getTicksActive() / maxTime * 183.0F);
+            i = (int) (ticks / maxTime * 183.0F);
             if (i > 0) gfx.blit(BARS, x, y2, 0, 6 * 5 * 2 + 5, i, 5, 256, 256);
         }
 
         RenderSystem.setShaderColor(1, 1, 1, 1);
+
+        hud.title.draw(gfx, font, x + 182 / 2, y - 9, isInWorld);
+        hud.lines[0].draw(gfx, font, x + 182 / 2, y2 - 9, isInWorld);
+    }
+
+    /**
+     * Prepares the text and wave progress of the HUD. Called by {@link GatewayHud#getModel} when the state of the gateway changes.
+     */
+    public static void buildHud(GatewayEntity gateEntity, GatewayHudModel hud) {
+        NormalGatewayEntity gate = (NormalGatewayEntity) gateEntity;
         Font font = Minecraft.getInstance().font;
+        int wave = gate.getWave() + 1;
+        int maxWave = gate.getGateway().getNumWaves();
+        int enemies = gate.getActiveEnemies();
+        int maxEnemies = gate.getMaxEnemies();
 
-        Component component = Component.literal(gate.getCustomName().getString()).withStyle(ChatFormatting.GOLD);
-        int strWidth = font.width(component);
-        int textX = x + 182 / 2 - strWidth / 2;
-        int textY = y - 9;
-        if (isInWorld) {
-            GatewaysClient.drawReversedDropShadow(gfx, font, component, textX, textY);
-        }
-        else {
-            gfx.drawString(font, component, textX, textY, 16777215, true);
-        }
-        textY = y2 - 9;
+        float waveProgress = 1F / maxWave;
+        float progress = waveProgress * (maxWave - wave + 1);
+        if (gate.isWaveActive() && maxEnemies > 0) progress -= waveProgress * ((float) (maxEnemies - enemies) / maxEnemies);
+        hud.progress = progress;
+
+        hud.title = GatewayHudModel.Line.of(Component.literal(gate.getCustomName().getString()).withStyle(ChatFormatting.GOLD), font);
 
-        int time = (int) maxTime - gate.getTicksActive();
+        int time = gate.getTicksRemaining();
         String str = I18n.get("boss.gateways.wave", wave, maxWave, StringUtil.formatTickDuration(time), enemies);
         if (!gate.isWaveActive()) {
             if (gate.isLastWave()) {
@@ -189,15 +192,7 @@ public class NormalGateClient {
             }
             else str = I18n.get("boss.gateways.starting", wave, StringUtil.formatTickDuration(time));
         }
-        component = Component.literal(str).withStyle(ChatFormatting.GREEN);
-        strWidth = font.width(component);
-        textX = x + 182 / 2 - strWidth / 2;
-        if (isInWorld) {
-            GatewaysClient.drawReversedDropShadow(gfx, font, component, textX, textY);
-        }
-        else {
-            gfx.drawString(font, component, textX, textY, 16777215, true);
-        }
+        hud.lines = new GatewayHudModel.Line[] { GatewayHudModel.Line.of(Component.literal(str).withStyle(ChatFormatting.GREEN), font) };
     }
 
 }
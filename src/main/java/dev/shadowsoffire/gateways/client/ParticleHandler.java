@@ -1,49 +1,108 @@
 package dev.shadowsoffire.gateways.client;
 
+import org.joml.Vector3f;
+
+import dev.shadowsoffire.gateways.GatewaysConfig;
 import dev.shadowsoffire.gateways.entity.GatewayEntity;
 import dev.shadowsoffire.gateways.net.ParticleMessage;
+import dev.shadowsoffire.gateways.net.RosterMessage;
+import dev.shadowsoffire.placebo.PlaceboClient;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import net.minecraft.client.Camera;
 import net.minecraft.client.Minecraft;
 import net.minecraft.util.Mth;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
 
+/**
+ * Spawns the particle effects of Gateways on the client.
+ * <p>
+ * Effects are thinned out with distance from the camera, and are skipped entirely beyond {@link GatewaysConfig#particleCutoffRange} or behind the
+ * camera. The total number of Gateway particles spawned per client tick is capped by {@link GatewaysConfig#particleBudget}.
+ */
 public class ParticleHandler {
 
+    /**
+     * The cosine of the angle from the view direction beyond which effects are considered off-screen. This is wider than any field of view, so that
+     * effects at the edge of the screen are not culled.
+     */
+    private static final double VIEW_CULL_COS = -0.2;
+
+    private static long budgetTick = -1;
+    private static int spent;
+
     public static void handle(ParticleMessage msg) {
-        double x = msg.x, y = msg.y, z = msg.z;
-        int color = msg.color;
-        ParticleMessage.Type type = msg.type;
-        Entity src = Minecraft.getInstance().level.getEntity(msg.gateId);
-        if (src == null) return;
-        switch (type) {
-            case IDLE -> {
-                GatewayParticleData data = new GatewayParticleData(color >> 16 & 255, color >> 8 & 255, color & 255);
-                RandomSource rand = src.level().random;
-                for (int i = 0; i < 6; i++) {
-                    double velX = Mth.nextDouble(rand, -0.15, 0.15);
-                    double velY = Mth.nextDouble(rand, -0.15, 0.15);
-                    double velZ = Mth.nextDouble(rand, -0.15, 0.15);
-                    double xOff = Mth.nextDouble(rand, -0.25, 0.25);
-                    double yOff = Mth.nextDouble(rand, -0.2, 0.2);
-                    double zOff = Mth.nextDouble(rand, -0.25, 0.25);
-                    Minecraft.getInstance().particleEngine.createParticle(data, x + xOff, y + yOff, z + zOff, velX, velY, velZ);
-                }
-            }
-            case SPAWNED -> {
-                GatewayParticleData data = new GatewayParticleData(color >> 16 & 255, color >> 8 & 255, color & 255);
-                RandomSource rand = src.level().random;
-                for (int i = 0; i < 25; i++) {
-                    double velY = Mth.nextDouble(rand, 0.05, 0.35);
-                    double xOff = Mth.nextDouble(rand, -0.15, 0.15);
-                    double yOff = Mth.nextDouble(rand, 0.05, 0.15);
-                    double zOff = Mth.nextDouble(rand, -0.15, 0.15);
-                    Minecraft.getInstance().particleEngine.createParticle(data, x + xOff, y + yOff, z + zOff, 0, velY, 0);
+        if (!(Minecraft.getInstance().level.getEntity(msg.gateId) instanceof GatewayEntity gate) || !gate.isValid()) return;
+        int color = gate.getGateway().color().getValue();
+        GatewayParticleData data = new GatewayParticleData(color >> 16 & 255, color >> 8 & 255, color & 255, false);
+        RandomSource rand = gate.level().random;
+        for (ParticleMessage.Entry entry : msg.entries) {
+            double x = entry.getX(gate), y = entry.getY(gate), z = entry.getZ(gate);
+            float detail = getDetail(x, y, z);
+            if (detail <= 0) continue;
+            switch (entry.type()) {
+                case SPAWNED -> {
+                    int count = Mth.ceil(25 * detail);
+                    for (int i = 0; i < count && consumeBudget(); i++) {
+                        double velY = Mth.nextDouble(rand, 0.05, 0.35);
+                        double xOff = Mth.nextDouble(rand, -0.15, 0.15);
+                        double yOff = Mth.nextDouble(rand, 0.05, 0.15);
+                        double zOff = Mth.nextDouble(rand, -0.15, 0.15);
+                        Minecraft.getInstance().particleEngine.createParticle(data, x + xOff, y + yOff, z + zOff, 0, velY, 0);
+                    }
                 }
             }
         }
     }
 
+    public static void handleRoster(RosterMessage msg) {
+        if (!(Minecraft.getInstance().level.getEntity(msg.gateId) instanceof GatewayEntity gate)) return;
+        IntSet roster = gate.getClientRoster();
+        if (msg.reset) roster.clear();
+        for (int id : msg.removed) {
+            roster.remove(id);
+        }
+        for (int id : msg.added) {
+            roster.add(id);
+        }
+    }
+
+    /**
+     * Spawns a cluster of particles on each wave entity of the gateway, following the {@linkplain GatewayEntity#getClientRoster() roster} synced by the
+     * server. The client-side position of each entity is used, so the particles follow moving entities smoothly.
+     */
+    public static void spawnRosterParticles(GatewayEntity gate) {
+        if (!gate.isValid() || gate.getClientRoster().isEmpty()) return;
+
+        Level level = gate.level();
+        int color = gate.getGateway().color().getValue();
+        GatewayParticleData data = new GatewayParticleData(color >> 16 & 255, color >> 8 & 255, color & 255, false);
+        IntIterator it = gate.getClientRoster().iterator();
+        while (it.hasNext()) {
+            Entity entity = level.getEntity(it.nextInt());
+            if (entity == null || entity.tickCount <= 30) continue;
+            double x = entity.getX(), y = entity.getY() + entity.getBbHeight() / 2, z = entity.getZ();
+            float detail = getDetail(x, y, z);
+            if (detail > 0) spawnCluster(data, level.random, x, y, z, detail);
+        }
+    }
+
+    protected static void spawnCluster(GatewayParticleData data, RandomSource rand, double x, double y, double z, float detail) {
+        int count = Mth.ceil(6 * detail);
+        for (int i = 0; i < count && consumeBudget(); i++) {
+            double velX = Mth.nextDouble(rand, -0.15, 0.15);
+            double velY = Mth.nextDouble(rand, -0.15, 0.15);
+            double velZ = Mth.nextDouble(rand, -0.15, 0.15);
+            double xOff = Mth.nextDouble(rand, -0.25, 0.25);
+            double yOff = Mth.nextDouble(rand, -0.2, 0.2);
+            double zOff = Mth.nextDouble(rand, -0.25, 0.25);
+            Minecraft.getInstance().particleEngine.createParticle(data, x + xOff, y + yOff, z + zOff, velX, velY, velZ);
+        }
+    }
+
     public static void spawnIdleParticles(GatewayEntity gate) {
         if (!gate.isValid()) return;
 
@@ -56,6 +115,9 @@ public class ParticleHandler {
         double y = gate.getY() + gate.getBbHeight() / 2;
         double z = gate.getZ();
         float scale = gate.getGateway().size().getScale();
+        float detail = getDetail(x, y, z);
+        // Distant gateways also emit half as often.
+        if (detail <= 0 || (detail < 0.5F && gate.tickCount % 60 != 0)) return;
 
         for (int i = 0; i < 30; i++) {
             float deg = (float) (i * 12 * Math.PI / 180F);
@@ -65,8 +127,44 @@ public class ParticleHandler {
             double xOff = velX * rand.nextDouble() * 0.2;
             double yOff = Mth.nextDouble(rand, -0.1, 0.2);
             double zOff = velZ * rand.nextDouble() * 0.2;
-            if (rand.nextFloat() < 0.35) Minecraft.getInstance().particleEngine.createParticle(data, x + xOff, y + yOff, z + zOff, velX, velY, velZ);
+            if (rand.nextFloat() < 0.35 * detail && consumeBudget()) Minecraft.getInstance().particleEngine.createParticle(data, x + xOff, y + yOff, z + zOff, velX, velY, velZ);
         }
 
     }
+
+    /**
+     * Returns the fraction of particles that should be spawned for an effect at the given position.
+     * <p>
+     * The fraction is 1 within {@link GatewaysConfig#particleFullRange} of the camera, and falls off linearly to 0 at
+     * {@link GatewaysConfig#particleCutoffRange}. Effects behind the camera are culled if {@link GatewaysConfig#particleViewCull} is enabled.
+     */
+    public static float getDetail(double x, double y, double z) {
+        Camera camera = Minecraft.getInstance().gameRenderer.getMainCamera();
+        if (!camera.isInitialized()) return 1;
+        Vec3 cam = camera.getPosition();
+        double dx = x - cam.x, dy = y - cam.y, dz = z - cam.z;
+        double dist = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        float near = GatewaysConfig.particleFullRange, far = GatewaysConfig.particleCutoffRange;
+        if (dist >= far) return 0;
+        // Nearby effects are never culled, as their particles may spread into view.
+        if (GatewaysConfig.particleViewCull && dist > 4) {
+            Vector3f look = camera.getLookVector();
+            if ((look.x() * dx + look.y() * dy + look.z() * dz) / dist < VIEW_CULL_COS) return 0;
+        }
+        if (dist <= near) return 1;
+        return (float) (1 - (dist - near) / (far - near));
+    }
+
+    /**
+     * Claims one particle from the budget of the current client tick.
+     *
+     * @return False if the budget has been spent, in which case the particle should not be spawned.
+     */
+    protected static boolean consumeBudget() {
+        if (budgetTick != PlaceboClient.ticks) {
+            budgetTick = PlaceboClient.ticks;
+            spent = 0;
+        }
+        return spent++ < GatewaysConfig.particleBudget;
+    }
 }
@@ -22,7 +22,6 @@ import net.minecraft.world.level.Level;
 
 public class EndlessGatewayEntity extends GatewayEntity {
 
-    public static final EntityDataAccessor<Integer> MAX_ENEMIES = SynchedEntityData.defineId(EndlessGatewayEntity.class, EntityDataSerializers.INT);
     public static final EntityDataAccessor<Integer> MODIFIERS = SynchedEntityData.defineId(EndlessGatewayEntity.class, EntityDataSerializers.INT);
     public static final EntityDataAccessor<Integer> MAX_WAVE_TIME = SynchedEntityData.defineId(EndlessGatewayEntity.class, EntityDataSerializers.INT);
     public static final EntityDataAccessor<Integer> SETUP_TIME = SynchedEntityData.defineId(EndlessGatewayEntity.class, EntityDataSerializers.INT);
@@ -36,19 +35,10 @@ public class EndlessGatewayEntity extends GatewayEntity {
     }
 
     @Override
-    public Wave getCurrentWave() {
+    public Wave getWaveAt(int wave) {
         return this.getGateway().baseWave();
     }
 
-    @Override
-    public void tick() {
-        super.tick();
-        if (this.isRemoved()) return;
-        if (this.getMaxEnemies() == -1) {
-            this.computeMaxEnemies(this.getWave());
-        }
-    }
-
     @Override
     protected void startNextWave() {
         super.startNextWave();
@@ -86,7 +76,6 @@ public class EndlessGatewayEntity extends GatewayEntity {
         });
 
         this.entityData.set(MODIFIERS, applied);
-        this.entityData.set(MAX_ENEMIES, this.currentWaveEntities.size());
     }
 
     @Override
@@ -95,10 +84,10 @@ public class EndlessGatewayEntity extends GatewayEntity {
     }
 
     @Override
-    public int getSetupTime() {
+    public int getSetupTime(int wave) {
         int time = this.entityData.get(SETUP_TIME);
         // Ignore the parameter if this is the first wave, as the time won't be computed (and modifiers can't execute yet anyway).
-        return time == -1 ? super.getSetupTime() : time;
+        return time == -1 ? super.getSetupTime(wave) : time;
     }
 
     @Override
@@ -111,7 +100,6 @@ public class EndlessGatewayEntity extends GatewayEntity {
         Player player = this.summonerOrClosest();
         this.undroppedItems.addAll(this.getCurrentWave().spawnRewards((ServerLevel) this.level(), this, player));
         executeModifiers(m -> m.rewards().forEach(r -> r.generateLoot((ServerLevel) this.level(), this, player, this.undroppedItems::add)));
-        this.computeMaxEnemies(this.getWave() + 1); // Precompute max enemies for the next wave so it can be displayed.
     }
 
     @Override
@@ -119,10 +107,6 @@ public class EndlessGatewayEntity extends GatewayEntity {
         return (EndlessGateway) super.getGateway();
     }
 
-    public int getMaxEnemies() {
-        return this.entityData.get(MAX_ENEMIES);
-    }
-
     public int getModifiersApplied() {
         return this.entityData.get(MODIFIERS);
     }
@@ -150,18 +134,18 @@ public class EndlessGatewayEntity extends GatewayEntity {
         return this.executeModifiers(this.getWave(), func);
     }
 
-    protected void computeMaxEnemies(int wave) {
-        AtomicInteger count = new AtomicInteger(this.getGateway().baseWave().entities().stream().mapToInt(WaveEntity::getCount).sum());
+    @Override
+    protected int getUpcomingEnemies(int wave) {
+        AtomicInteger count = new AtomicInteger(super.getUpcomingEnemies(wave));
         executeModifiers(wave, modif -> {
-            count.set(count.get() + modif.entities().stream().mapToInt(WaveEntity::getCount).sum());
+            count.set(count.get() + modif.entities().stream().mapToInt(WaveEntity::getEnemyCount).sum());
         });
-        this.entityData.set(MAX_ENEMIES, count.get());
+        return count.get();
     }
 
     @Override
     protected void defineSynchedData() {
         super.defineSynchedData();
-        this.entityData.define(MAX_ENEMIES, -1);
         this.entityData.define(MODIFIERS, -1);
         this.entityData.define(MAX_WAVE_TIME, -1);
         this.entityData.define(SETUP_TIME, -1);
@@ -170,16 +154,12 @@ public class EndlessGatewayEntity extends GatewayEntity {
     @Override
     protected void addAdditionalSaveData(CompoundTag tag) {
         super.addAdditionalSaveData(tag);
-        tag.putInt("max_enemies", this.getMaxEnemies());
         tag.putInt("modifiers_applied", this.getModifiersApplied());
     }
 
     @Override
     protected void readAdditionalSaveData(CompoundTag tag) {
         super.readAdditionalSaveData(tag);
-        if (tag.contains("max_enemies")) {
-            this.entityData.set(MAX_ENEMIES, tag.getInt("max_enemies"));
-        }
         if (tag.contains("modifiers_applied")) {
             this.entityData.set(MODIFIERS, tag.getInt("modifiers_applied"));
         }
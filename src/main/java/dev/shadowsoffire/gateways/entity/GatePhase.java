@@ -0,0 +1,50 @@
+package dev.shadowsoffire.gateways.entity;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.syncher.EntityDataSerializer;
+
+/**
+ * The state of a Gateway's current phase, which is either the setup phase before a wave or an active wave.
+ * <p>
+ * The phase only changes when a wave starts or ends (or when a dormant Gateway wakes), so it is synced to clients once per transition. Clients derive
+ * the timer from their own game time and the {@linkplain #start() start} of the phase, instead of receiving it every tick.
+ *
+ * @param waveActive If the phase is an active wave, rather than the setup phase.
+ * @param wave       The index of the current wave.
+ * @param start      The game time at which the phase began.
+ * @param duration   The length of the phase, in ticks. This is the max wave time during a wave, and the setup time during the setup phase.
+ * @param maxEnemies The number of enemies in the current wave, or the number of enemies in the upcoming wave during the setup phase.
+ */
+public record GatePhase(boolean waveActive, int wave, long start, int duration, int maxEnemies) {
+
+    public static final GatePhase EMPTY = new GatePhase(false, 0, 0, 0, 0);
+
+    public static final EntityDataSerializer<GatePhase> SERIALIZER = EntityDataSerializer.simple(GatePhase::write, GatePhase::read);
+
+    /**
+     * Returns the number of ticks since this phase began.
+     */
+    public int getTicksActive(long gameTime) {
+        return (int) (gameTime - this.start);
+    }
+
+    /**
+     * Returns a copy of this phase with its start delayed by the given number of ticks, which is used to pause the timer.
+     */
+    public GatePhase delay(long ticks) {
+        return new GatePhase(this.waveActive, this.wave, this.start + ticks, this.duration, this.maxEnemies);
+    }
+
+    public static void write(FriendlyByteBuf buf, GatePhase phase) {
+        buf.writeBoolean(phase.waveActive);
+        buf.writeVarInt(phase.wave);
+        buf.writeVarLong(phase.start);
+        buf.writeVarInt(phase.duration);
+        buf.writeVarInt(phase.maxEnemies);
+    }
+
+    public static GatePhase read(FriendlyByteBuf buf) {
+        return new GatePhase(buf.readBoolean(), buf.readVarInt(), buf.readVarLong(), buf.readVarInt(), buf.readVarInt());
+    }
+
+}
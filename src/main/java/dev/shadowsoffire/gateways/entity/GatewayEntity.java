@@ -1,12 +1,15 @@
 package dev.shadowsoffire.gateways.entity;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nullable;
 
@@ -15,19 +18,39 @@ import com.mojang.authlib.GameProfile;
 
 import dev.shadowsoffire.gateways.GatewayObjects;
 import dev.shadowsoffire.gateways.Gateways;
+import dev.shadowsoffire.gateways.GatewaysConfig;
 import dev.shadowsoffire.gateways.client.ParticleHandler;
+import dev.shadowsoffire.gateways.entity.ai.AiLodController;
+import dev.shadowsoffire.gateways.entity.ai.FlowField;
+import dev.shadowsoffire.gateways.entity.ai.FlowFieldGoal;
+import dev.shadowsoffire.gateways.entity.ai.TargetingService;
 import dev.shadowsoffire.gateways.event.GateEvent;
 import dev.shadowsoffire.gateways.gate.GateRules;
 import dev.shadowsoffire.gateways.gate.Gateway;
 import dev.shadowsoffire.gateways.gate.GatewayRegistry;
+import dev.shadowsoffire.gateways.gate.SpawnAlgorithms;
 import dev.shadowsoffire.gateways.gate.SpawnAlgorithms.SpawnAlgorithm;
 import dev.shadowsoffire.gateways.gate.Wave;
+import dev.shadowsoffire.gateways.gate.WaveEntity;
+import dev.shadowsoffire.gateways.gate.WaveEntity.HordeWaveEntity;
 import dev.shadowsoffire.gateways.gate.normal.NormalGateway;
+import dev.shadowsoffire.gateways.gate.spawn.ChunkSnapshot;
+import dev.shadowsoffire.gateways.gate.spawn.SpawnPointSelector;
+import dev.shadowsoffire.gateways.gate.spawn.SpawnSiteCache;
+import dev.shadowsoffire.gateways.gate.spawn.SpawnSpacing;
+import dev.shadowsoffire.gateways.gate.spawn.SurfaceGrid;
+import dev.shadowsoffire.gateways.net.BossHudMessage;
 import dev.shadowsoffire.gateways.net.ParticleMessage;
-import dev.shadowsoffire.placebo.network.PacketDistro;
+import dev.shadowsoffire.gateways.net.RosterMessage;
 import dev.shadowsoffire.placebo.reload.DynamicHolder;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 import net.minecraft.ChatFormatting;
+import net.minecraft.Util;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
@@ -41,8 +64,10 @@ import net.minecraft.network.syncher.EntityDataSerializers;
 import net.minecraft.network.syncher.SynchedEntityData;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerBossEvent;
+import net.minecraft.server.level.ServerChunkCache;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.level.TicketType;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.util.Mth;
 import net.minecraft.world.BossEvent.BossBarColor;
@@ -58,6 +83,7 @@ import net.minecraft.world.entity.ai.targeting.TargetingConditions;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.common.MinecraftForge;
@@ -65,14 +91,37 @@ import net.minecraftforge.common.util.FakePlayer;
 import net.minecraftforge.common.util.FakePlayerFactory;
 import net.minecraftforge.entity.IEntityAdditionalSpawnData;
 import net.minecraftforge.network.NetworkHooks;
+import net.minecraftforge.network.PacketDistributor;
 
 public abstract class GatewayEntity extends Entity implements IEntityAdditionalSpawnData {
 
-    public static final EntityDataAccessor<Boolean> WAVE_ACTIVE = SynchedEntityData.defineId(GatewayEntity.class, EntityDataSerializers.BOOLEAN);
-    public static final EntityDataAccessor<Integer> TICKS_ACTIVE = SynchedEntityData.defineId(GatewayEntity.class, EntityDataSerializers.INT);
-    public static final EntityDataAccessor<Integer> WAVE = SynchedEntityData.defineId(GatewayEntity.class, EntityDataSerializers.INT);
+    /**
+     * The current phase, which is only updated when a wave starts or ends. Clients compute the timer from the start of the phase.
+     */
+    public static final EntityDataAccessor<GatePhase> PHASE = SynchedEntityData.defineId(GatewayEntity.class, GatePhase.SERIALIZER);
     public static final EntityDataAccessor<Integer> ENEMIES = SynchedEntityData.defineId(GatewayEntity.class, EntityDataSerializers.INT);
 
+    /**
+     * The number of surface grid cells tried by {@link #findSpawnPos} before falling back to the spawn algorithm.
+     */
+    public static final int SURFACE_GRID_TRIES = 5;
+
+    /**
+     * The ticket which keeps the chunks within a gateway's leash range loaded while it is open.<br>
+     * The ticket expires unless it is refreshed, so a gateway that stops ticking does not keep its arena loaded indefinitely.
+     */
+    public static final TicketType<UUID> ARENA_TICKET = TicketType.create("gateways:arena", UUID::compareTo, 300);
+
+    /**
+     * The interval, in ticks, at which the arena ticket is refreshed.
+     */
+    public static final int ARENA_TICKET_REFRESH = 100;
+
+    /**
+     * The maximum chunk radius covered by the arena ticket, regardless of the leash range.
+     */
+    public static final int MAX_ARENA_RADIUS = 8;
+
     protected final Set<LivingEntity> currentWaveEntities = new HashSet<>();
     protected final Set<UUID> unresolvedWaveEntities = new HashSet<>();
 
@@ -81,6 +130,30 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
     protected float clientScale = 0F;
     protected Queue<ItemStack> undroppedItems = new ArrayDeque<>();
     protected FailureReason failureReason;
+    protected final SpawnSpacing spawnSpacing = new SpawnSpacing();
+    protected final SpawnSiteCache spawnSites = new SpawnSiteCache();
+    protected final SpawnPointSelector spawnPoints = new SpawnPointSelector();
+    @Nullable
+    protected SurfaceGrid surfaceGrid;
+    @Nullable
+    protected CompletableFuture<SurfaceGrid> nextSurfaceGrid;
+    @Nullable
+    protected FlowField flowField;
+    protected final TargetingService targeting = new TargetingService();
+    @Nullable
+    protected ChunkPos arenaTicketPos;
+    protected int arenaTicketRadius;
+    protected boolean arenaLoaded;
+    protected int nextArenaRefresh;
+    protected boolean dormant;
+    protected long dormantSince;
+    @Nullable
+    protected TimingWheel.Timer deadline;
+    protected boolean deadlineElapsed;
+    protected final Set<GatewayScheduler.Task> scheduledTasks = EnumSet.noneOf(GatewayScheduler.Task.class);
+    protected List<ParticleMessage.Entry> pendingParticles = new ArrayList<>();
+    protected IntSet syncedRoster = new IntOpenHashSet();
+    protected final IntSet clientRoster = new IntOpenHashSet();
 
     @Nullable
     protected ServerBossEvent bossEvent;
@@ -93,22 +166,30 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
         this.setCustomName(Component.translatable(gate.getId().toString().replace(':', '.')).withStyle(Style.EMPTY.withColor(gate.get().color())));
         this.bossEvent = this.createBossEvent();
         this.refreshDimensions();
+        this.entityData.set(PHASE, new GatePhase(false, 0, level.getGameTime(), this.getSetupTime(0), this.getUpcomingEnemies(0)));
     }
 
     public GatewayEntity(EntityType<?> type, Level level) {
         super(type, level);
     }
 
+    /**
+     * Returns the wave at the given index, or the final wave, if the index is past the last wave.
+     */
+    public abstract Wave getWaveAt(int wave);
+
     /**
      * Returns the current wave, or the final wave, if the wave index is past the last wave.
      */
-    public abstract Wave getCurrentWave();
+    public Wave getCurrentWave() {
+        return this.getWaveAt(this.getWave());
+    }
 
     /**
      * Returns true if the next wave can begin execution.
      */
     protected boolean canStartNextWave() {
-        return this.getTicksActive() > this.getSetupTime();
+        return this.deadlineElapsed && this.isArenaLoaded();
     }
 
     public abstract boolean isCompleted();
@@ -118,11 +199,25 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
      */
     protected abstract void completeWave();
 
+    /**
+     * Returns the number of enemies in the given wave before it is spawned, which is displayed during the setup phase.
+     */
+    protected int getUpcomingEnemies(int wave) {
+        return this.getWaveAt(wave).entities().stream().mapToInt(WaveEntity::getEnemyCount).sum();
+    }
+
     /**
      * Returns the setup time of the current wave.
      */
     public int getSetupTime() {
-        return getCurrentWave().setupTime();
+        return this.getSetupTime(this.getWave());
+    }
+
+    /**
+     * Returns the setup time of the given wave.
+     */
+    public int getSetupTime(int wave) {
+        return this.getWaveAt(wave).setupTime();
     }
 
     /**
@@ -146,50 +241,35 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
                 for (UUID id : this.unresolvedWaveEntities) {
                     Entity e = ((ServerLevel) this.level()).getEntity(id);
                     if (e instanceof LivingEntity) this.currentWaveEntities.add((LivingEntity) e);
+                    // Entities frozen before the gateway was unloaded are thawed here, and frozen again if the gateway is still dormant.
+                    if (e instanceof Mob mob) thaw(mob);
                 }
                 this.unresolvedWaveEntities.clear();
             }
 
-            if (this.isWaveActive()) {
-                int maxWaveTime = this.getMaxWaveTime();
-                if (this.getTicksActive() > maxWaveTime) {
-                    this.onFailure(this.currentWaveEntities, FailureReason.TIMER_ELAPSED);
-                    return;
-                }
+            int phase = this.getSchedulePhase();
+            if ((this.tickCount + phase) % 20 == 0) {
+                this.updateDormancy();
             }
+            if (this.dormant) return;
 
-            this.entityData.set(TICKS_ACTIVE, this.getTicksActive() + 1);
+            if (this.tickCount >= this.nextArenaRefresh) {
+                this.refreshArenaTicket();
+                this.nextArenaRefresh = this.tickCount + ARENA_TICKET_REFRESH;
+            }
 
-            // Collect all remaining enemies, which are those that are alive and not removed via a valid reason.
-            List<LivingEntity> enemies = this.currentWaveEntities.stream().filter(e -> e.getHealth() > 0 && !this.isValidRemoval(e.getRemovalReason())).toList();
-            if (this.tickCount % 20 == 0) {
-                for (LivingEntity entity : enemies) {
-                    if (hasLeftDimension(entity)) {
-                        this.onFailure(this.currentWaveEntities, FailureReason.ENTITY_LEFT_DIMENSION);
-                        return;
-                    }
-                    if (entity.getRemovalReason() == RemovalReason.DISCARDED) {
-                        this.onFailure(this.currentWaveEntities, FailureReason.ENTITY_DISCARDED);
-                        return;
-                    }
-                    if (entity.tickCount > 30) {
-                        this.spawnParticle(entity.getX(), entity.getY() + entity.getBbHeight() / 2, entity.getZ(), ParticleMessage.Type.IDLE);
-                    }
-                    if (this.isOutOfRange(entity)) {
-                        if (this.getGateway().rules().failOnOutOfBounds() || !this.respawnEntity(entity)) {
-                            this.onFailure(this.currentWaveEntities, FailureReason.ENTITY_TOO_FAR);
-                            return;
-                        }
-                    }
-                }
+            if (this.deadline == null) {
+                this.scheduleDeadline();
             }
-            this.entityData.set(ENEMIES, enemies.size());
 
-            if (this.tickCount % 4 == 0 && !this.undroppedItems.isEmpty()) {
-                for (int i = 0; i < this.getDropCount(); i++) {
-                    this.spawnItem(this.undroppedItems.remove());
-                    if (this.undroppedItems.isEmpty()) break;
-                }
+            List<LivingEntity> enemies = this.getRemainingEnemies();
+            if ((this.tickCount + phase) % 20 == 0) {
+                GatewayScheduler.INSTANCE.schedule(this, GatewayScheduler.Task.ROSTER);
+            }
+            this.entityData.set(ENEMIES, countEnemies(enemies));
+
+            if ((this.tickCount + phase) % 4 == 0 && !this.undroppedItems.isEmpty()) {
+                GatewayScheduler.INSTANCE.schedule(this, GatewayScheduler.Task.DROPS);
             }
 
             if (this.isWaveActive()) {
@@ -197,17 +277,19 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
                     this.completeWave();
                     MinecraftForge.EVENT_BUS.post(new GateEvent.WaveEnd(this));
                     this.currentWaveEntities.clear();
-                    this.entityData.set(WAVE_ACTIVE, false);
-                    this.entityData.set(TICKS_ACTIVE, 0);
-                    this.entityData.set(WAVE, this.getWave() + 1);
+                    this.startPhase(false, this.getWave() + 1);
                 }
             }
             else {
+                if (this.nextSurfaceGrid == null && GatewaysConfig.asyncSpawnSearch && !this.isCompleted() && this.usesSurfaceGrid()) {
+                    this.prepareSpawnSearch();
+                }
                 if (this.canStartNextWave()) {
                     this.startNextWave();
-                    this.entityData.set(WAVE_ACTIVE, true);
-                    this.entityData.set(TICKS_ACTIVE, 0);
-                    this.entityData.set(ENEMIES, this.currentWaveEntities.size());
+                    // The gateway is removed if the wave failed to spawn.
+                    if (this.isRemoved()) return;
+                    this.startPhase(true, this.getWave());
+                    this.entityData.set(ENEMIES, countEnemies(this.currentWaveEntities));
                     MinecraftForge.EVENT_BUS.post(new GateEvent.WaveStarted(this));
                     return;
                 }
@@ -220,9 +302,143 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
             if (this.tickCount % 30 == 0) {
                 ParticleHandler.spawnIdleParticles(this);
             }
+            if (this.tickCount % 20 == 0) {
+                ParticleHandler.spawnRosterParticles(this);
+            }
+        }
+    }
+
+    /**
+     * Begins a new phase at the current game time, syncs it to clients, and schedules its deadline.<br>
+     * When starting a wave, this is called after the wave has been spawned, so that its duration and enemy count are known.
+     *
+     * @param waveActive If the new phase is an active wave.
+     * @param wave       The wave index of the new phase.
+     */
+    protected void startPhase(boolean waveActive, int wave) {
+        int duration = waveActive ? this.getMaxWaveTime() : this.getSetupTime(wave);
+        int maxEnemies = waveActive ? countEnemies(this.currentWaveEntities) : this.getUpcomingEnemies(wave);
+        this.entityData.set(PHASE, new GatePhase(waveActive, wave, this.level().getGameTime(), duration, maxEnemies));
+        this.scheduleDeadline();
+    }
+
+    /**
+     * Registers the end of the current phase with the level's {@link TimingWheel}, replacing any previous deadline.<br>
+     * When an active wave's deadline fires the gateway fails, and when the setup phase's deadline fires the next wave may begin.<br>
+     * Removed gateways never schedule a deadline, as nothing would cancel it.
+     */
+    protected void scheduleDeadline() {
+        this.cancelDeadline();
+        if (this.isRemoved()) return;
+        GatePhase phase = this.getPhase();
+        long end = phase.start() + phase.duration() + 1;
+        this.deadline = TimingWheel.forLevel((ServerLevel) this.level()).schedule(end, this::onDeadline);
+    }
+
+    protected void cancelDeadline() {
+        if (this.deadline != null) this.deadline.cancel();
+        this.deadline = null;
+        this.deadlineElapsed = false;
+    }
+
+    protected void onDeadline() {
+        if (this.isRemoved() || this.dormant) return;
+        if (this.isWaveActive()) {
+            this.onFailure(this.currentWaveEntities, FailureReason.TIMER_ELAPSED);
+        }
+        else {
+            this.deadlineElapsed = true;
+        }
+    }
+
+    /**
+     * Collects all remaining enemies, which are those that are alive and not removed via a valid reason.
+     */
+    protected List<LivingEntity> getRemainingEnemies() {
+        return this.currentWaveEntities.stream().filter(e -> e.getHealth() > 0 && !this.isValidRemoval(e.getRemovalReason())).toList();
+    }
+
+    /**
+     * Checks the remaining wave entities for failure conditions, re-places out-of-range entities, syncs the roster to clients, and updates their AI
+     * controllers.<br>
+     * Run once per second through the {@link GatewayScheduler}.
+     */
+    protected void validateRoster() {
+        List<LivingEntity> enemies = this.getRemainingEnemies();
+        for (LivingEntity entity : enemies) {
+            if (hasLeftDimension(entity)) {
+                this.onFailure(this.currentWaveEntities, FailureReason.ENTITY_LEFT_DIMENSION);
+                return;
+            }
+            if (entity.getRemovalReason() == RemovalReason.DISCARDED) {
+                this.onFailure(this.currentWaveEntities, FailureReason.ENTITY_DISCARDED);
+                return;
+            }
+            if (this.isOutOfRange(entity)) {
+                if (this.getGateway().rules().failOnOutOfBounds() || !this.respawnEntity(entity)) {
+                    this.onFailure(this.currentWaveEntities, FailureReason.ENTITY_TOO_FAR);
+                    return;
+                }
+            }
+        }
+        this.syncRoster(enemies);
+        if (GatewaysConfig.centralTargeting) {
+            this.targeting.update((ServerLevel) this.level(), this, enemies);
+        }
+        if (GatewaysConfig.flowFieldPathing && this.isWaveActive()) {
+            this.updateFlowField();
+            for (LivingEntity entity : enemies) {
+                if (entity instanceof Mob mob) FlowFieldGoal.attach(mob, this);
+            }
+        }
+        if (GatewaysConfig.aiLod) {
+            AiLodController.update((ServerLevel) this.level(), enemies);
+        }
+    }
+
+    /**
+     * Sends the ids of wave entities added to or removed from the roster since the last sync to tracking clients, which use them to draw idle particles.
+     */
+    protected void syncRoster(List<LivingEntity> enemies) {
+        IntSet current = new IntOpenHashSet(enemies.size());
+        for (LivingEntity entity : enemies) {
+            current.add(entity.getId());
+        }
+        IntList added = new IntArrayList(), removed = new IntArrayList();
+        current.forEach(id -> {
+            if (!this.syncedRoster.contains(id)) added.add(id);
+        });
+        this.syncedRoster.forEach(id -> {
+            if (!current.contains(id)) removed.add(id);
+        });
+        if (added.isEmpty() && removed.isEmpty()) return;
+        this.syncedRoster = current;
+        Gateways.CHANNEL.send(PacketDistributor.TRACKING_ENTITY.with(() -> this), new RosterMessage(this.getId(), false, added.toIntArray(), removed.toIntArray()));
+    }
+
+    /**
+     * Returns the ids of the wave entities synced by the server. Only available on the client.
+     */
+    public IntSet getClientRoster() {
+        return this.clientRoster;
+    }
+
+    /**
+     * Drops the next batch of queued reward items. Run every four ticks through the {@link GatewayScheduler} while items are queued.
+     */
+    protected void dropQueuedItems() {
+        for (int i = 0; i < this.getDropCount() && !this.undroppedItems.isEmpty(); i++) {
+            this.spawnItem(this.undroppedItems.remove());
         }
     }
 
+    /**
+     * Returns the tick offset of this gateway's periodic work, which spreads the work of many gateways across different ticks.
+     */
+    protected int getSchedulePhase() {
+        return Math.floorMod(this.getUUID().hashCode(), 20);
+    }
+
     @Override
     public EntityDimensions getDimensions(Pose pPose) {
         return this.gate.get().size().getDims();
@@ -244,10 +460,181 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
      * Spawns the next wave of entities. The current wave counter has already been incremented, so {@link #getCurrentWave()} is the wave being spawned.
      */
     protected void startNextWave() {
+        this.flowField = null;
+        this.spawnSpacing.clear();
+        this.spawnSites.startWave();
+        this.surfaceGrid = this.takePreparedSurfaceGrid();
         List<LivingEntity> spawned = this.getCurrentWave().spawnWave((ServerLevel) this.level(), this.position(), this);
         this.currentWaveEntities.addAll(spawned);
     }
 
+    /**
+     * Captures a snapshot of the chunks within the leash range, and begins building the {@link SurfaceGrid} for the next wave from it on a worker thread.
+     * <p>
+     * Called at the start of each setup phase when {@link GatewaysConfig#asyncSpawnSearch} is enabled and the grid will be {@linkplain #usesSurfaceGrid()
+     * used}.
+     */
+    protected void prepareSpawnSearch() {
+        GateRules rules = this.getGateway().rules();
+        ChunkSnapshot snapshot = ChunkSnapshot.capture((ServerLevel) this.level(), this.position(), rules.leashRange());
+        Vec3 center = this.position();
+        double spawnRange = this.getBbWidth() / 2 + rules.spawnRange();
+        this.nextSurfaceGrid = CompletableFuture.supplyAsync(() -> SurfaceGrid.build(snapshot, center, rules.leashRange(), spawnRange), Util.backgroundExecutor());
+    }
+
+    /**
+     * Checks if the {@link SurfaceGrid} will be read during a wave, either by the {@linkplain SpawnAlgorithm#usesSurfaceGrid() spawn algorithm} or by
+     * {@linkplain GatewaysConfig#flowFieldPathing flow field pathing}. Otherwise, there is no reason to prepare one.
+     */
+    protected boolean usesSurfaceGrid() {
+        return this.getGateway().spawnAlgo().usesSurfaceGrid() || GatewaysConfig.flowFieldPathing;
+    }
+
+    /**
+     * Consumes the surface grid prepared during the setup phase, if it has finished building.
+     *
+     * @return The prepared grid, or null if no grid was prepared in time.
+     */
+    @Nullable
+    protected SurfaceGrid takePreparedSurfaceGrid() {
+        CompletableFuture<SurfaceGrid> future = this.nextSurfaceGrid;
+        this.nextSurfaceGrid = null;
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) return null;
+        return future.getNow(null);
+    }
+
+    /**
+     * Cancels the surface grid being prepared for the next wave, if there is one.
+     */
+    protected void cancelSpawnSearch() {
+        if (this.nextSurfaceGrid != null) {
+            this.nextSurfaceGrid.cancel(false);
+            this.nextSurfaceGrid = null;
+        }
+    }
+
+    /**
+     * Returns the radius, in chunks, around the chunk containing this gateway that covers its entire leash range.
+     */
+    public int getArenaRadius() {
+        int leash = Mth.ceil(this.getGateway().rules().leashRange());
+        ChunkPos center = this.chunkPosition();
+        int radius = 0;
+        radius = Math.max(radius, center.x - SectionPos.blockToSectionCoord(this.getBlockX() - leash));
+        radius = Math.max(radius, SectionPos.blockToSectionCoord(this.getBlockX() + leash) - center.x);
+        radius = Math.max(radius, center.z - SectionPos.blockToSectionCoord(this.getBlockZ() - leash));
+        radius = Math.max(radius, SectionPos.blockToSectionCoord(this.getBlockZ() + leash) - center.z);
+        return Math.min(radius, MAX_ARENA_RADIUS);
+    }
+
+    /**
+     * Adds or refreshes the {@link #ARENA_TICKET}, which asynchronously loads the chunks within the arena radius and keeps them entity-ticking.
+     */
+    protected void refreshArenaTicket() {
+        ServerChunkCache chunks = ((ServerLevel) this.level()).getChunkSource();
+        ChunkPos pos = this.chunkPosition();
+        int radius = this.getArenaRadius();
+        if (this.arenaTicketPos != null && (!this.arenaTicketPos.equals(pos) || this.arenaTicketRadius != radius)) {
+            this.releaseArenaTicket();
+        }
+        // Region tickets are entity-ticking two chunks inside of their distance.
+        chunks.addRegionTicket(ARENA_TICKET, pos, radius + 2, this.getUUID());
+        this.arenaTicketPos = pos;
+        this.arenaTicketRadius = radius;
+    }
+
+    /**
+     * Removes the {@link #ARENA_TICKET}, if one is held. Called when the gateway is removed.
+     */
+    protected void releaseArenaTicket() {
+        if (this.arenaTicketPos == null) return;
+        ((ServerLevel) this.level()).getChunkSource().removeRegionTicket(ARENA_TICKET, this.arenaTicketPos, this.arenaTicketRadius + 2, this.getUUID());
+        this.arenaTicketPos = null;
+        this.arenaLoaded = false;
+    }
+
+    /**
+     * Checks if every chunk within the arena radius has finished loading. Waves do not start until this is true, so that spawn placement never has to
+     * wait on chunk loading.
+     * <p>
+     * Once the check passes, the result is kept until the arena ticket is released or the gateway becomes dormant (as the ticket is then allowed to expire).
+     */
+    public boolean isArenaLoaded() {
+        if (this.arenaLoaded) return true;
+        ServerChunkCache chunks = ((ServerLevel) this.level()).getChunkSource();
+        ChunkPos center = this.chunkPosition();
+        int radius = this.getArenaRadius();
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                if (chunks.getChunkNow(center.x + x, center.z + z) == null) return false;
+            }
+        }
+        this.arenaLoaded = true;
+        return true;
+    }
+
+    @Override
+    public void remove(RemovalReason reason) {
+        super.remove(reason);
+        if (!this.level().isClientSide) {
+            this.cancelDeadline();
+            this.cancelSpawnSearch();
+            this.releaseArenaTicket();
+            this.setDormant(false);
+        }
+    }
+
+    /**
+     * Enters or leaves dormancy based on whether any player is within {@link GatewaysConfig#dormancyRange}.
+     */
+    protected void updateDormancy() {
+        float range = GatewaysConfig.dormancyRange;
+        this.setDormant(range > 0 && !this.level().hasNearbyAlivePlayer(this.getX(), this.getY(), this.getZ(), range));
+    }
+
+    /**
+     * Sets the dormancy of this gateway. While dormant, the gateway's timers are paused, it performs no periodic work, and its arena ticket is not
+     * refreshed. If {@link GatewaysConfig#dormantFreezeAi} is enabled, the AI of its wave entities is also disabled.
+     */
+    protected void setDormant(boolean dormant) {
+        if (this.dormant == dormant) return;
+        this.dormant = dormant;
+        if (dormant) {
+            this.dormantSince = this.level().getGameTime();
+            this.arenaLoaded = false;
+            // The deadline is rescheduled from the delayed phase start when the gateway wakes.
+            this.cancelDeadline();
+        }
+        else {
+            // Push the phase start forward by the time spent dormant, which resumes the timer where it was paused.
+            this.entityData.set(PHASE, this.getPhase().delay(this.level().getGameTime() - this.dormantSince));
+        }
+        for (LivingEntity entity : this.currentWaveEntities) {
+            if (!(entity instanceof Mob mob) || !mob.isAlive()) continue;
+            if (dormant && GatewaysConfig.dormantFreezeAi && !mob.isNoAi()) {
+                mob.setNoAi(true);
+                mob.getPersistentData().putBoolean("gateways.frozen", true);
+            }
+            else if (!dormant) {
+                thaw(mob);
+            }
+        }
+    }
+
+    /**
+     * Restores the AI of a wave entity that was frozen by a dormant gateway.
+     */
+    protected static void thaw(Mob mob) {
+        if (mob.getPersistentData().getBoolean("gateways.frozen")) {
+            mob.setNoAi(false);
+            mob.getPersistentData().remove("gateways.frozen");
+        }
+    }
+
+    public boolean isDormant() {
+        return this.dormant;
+    }
+
     /**
      * Called when the final wave is completed and the portal should close.
      */
@@ -280,6 +667,7 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
      */
     public void onFailure(Collection<LivingEntity> remaining, FailureReason reason) {
         this.failureReason = reason;
+        this.cancelSpawnSearch();
         MinecraftForge.EVENT_BUS.post(new GateEvent.Failed(this));
         Player player = this.summonerOrClosest();
         if (player != null) player.sendSystemMessage(reason.getMsg());
@@ -291,6 +679,8 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
             }
             else if (e instanceof Mob mob) {
                 mob.persistenceRequired = false;
+                AiLodController.restore(mob);
+                TargetingService.release(mob);
             }
         });
         this.getGateway().failures().forEach(f -> f.onFailure((ServerLevel) this.level(), this, player, reason));
@@ -299,7 +689,8 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
 
     protected ServerBossEvent createBossEvent() {
         if (this.getGateway().bossSettings().drawAsBar()) {
-            ServerBossEvent event = new ServerBossEvent(Component.literal("GATEWAY_ID" + this.getId()), BossBarColor.BLUE, BossBarOverlay.PROGRESS);
+            // The boss bar is replaced by the gateway's HUD on the client, which is linked to it by a BossHudMessage.
+            ServerBossEvent event = new ServerBossEvent(this.getName(), BossBarColor.BLUE, BossBarOverlay.PROGRESS);
             event.setCreateWorldFog(this.getGateway().bossSettings().fog());
             return event;
         }
@@ -320,17 +711,19 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
         tag.putLongArray("wave_entities", ids);
         tag.putBoolean("active", this.isWaveActive());
         tag.putInt("ticks_active", this.getTicksActive());
+        tag.putInt("phase_duration", this.getPhase().duration());
+        tag.putInt("max_enemies", this.getPhase().maxEnemies());
         if (this.summonerId != null) tag.putUUID("summoner", this.summonerId);
         ListTag stacks = new ListTag();
         for (ItemStack s : this.undroppedItems) {
             stacks.add(s.serializeNBT());
         }
         tag.put("queued_stacks", stacks);
+        tag.put("spawn_sites", this.spawnSites.save());
     }
 
     @Override
     protected void readAdditionalSaveData(CompoundTag tag) {
-        if (tag.contains("wave")) this.entityData.set(WAVE, tag.getInt("wave"));
         if (tag.contains("gate")) this.gate = GatewayRegistry.INSTANCE.holder(new ResourceLocation(tag.getString("gate")));
 
         if (!this.gate.isBound()) {
@@ -348,8 +741,13 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
             }
         }
 
-        if (tag.contains("active")) this.entityData.set(WAVE_ACTIVE, tag.getBoolean("active"));
-        if (tag.contains("ticks_active")) this.entityData.set(TICKS_ACTIVE, tag.getInt("ticks_active"));
+        boolean active = tag.getBoolean("active");
+        int wave = tag.getInt("wave");
+        long start = this.level().getGameTime() - tag.getInt("ticks_active");
+        // Gateways saved before the duration and enemy count were stored recompute them from the saved wave.
+        int duration = tag.contains("phase_duration") ? tag.getInt("phase_duration") : active ? this.getWaveAt(wave).maxWaveTime() : this.getSetupTime(wave);
+        int maxEnemies = tag.contains("max_enemies") ? tag.getInt("max_enemies") : active ? this.unresolvedWaveEntities.size() : this.getUpcomingEnemies(wave);
+        this.entityData.set(PHASE, new GatePhase(active, wave, start, duration, maxEnemies));
         if (tag.contains("summoner")) this.summonerId = tag.getUUID("summoner");
         if (tag.contains("queued_stacks")) {
             this.undroppedItems.clear();
@@ -358,15 +756,14 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
                 this.undroppedItems.add(ItemStack.of((CompoundTag) inbt));
             }
         }
+        if (tag.contains("spawn_sites")) this.spawnSites.load(tag.getList("spawn_sites", Tag.TAG_COMPOUND));
         this.bossEvent = this.createBossEvent();
         this.refreshDimensions();
     }
 
     @Override
     protected void defineSynchedData() {
-        this.entityData.define(WAVE_ACTIVE, false);
-        this.entityData.define(TICKS_ACTIVE, 0);
-        this.entityData.define(WAVE, 0);
+        this.entityData.define(PHASE, GatePhase.EMPTY);
         this.entityData.define(ENEMIES, 0);
     }
 
@@ -378,8 +775,11 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
     @Override
     public void startSeenByPlayer(ServerPlayer player) {
         super.startSeenByPlayer(player);
+        if (!this.syncedRoster.isEmpty()) {
+            Gateways.CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), new RosterMessage(this.getId(), true, this.syncedRoster.toIntArray(), new int[0]));
+        }
         if (this.bossEvent != null) {
-            this.bossEvent.addPlayer(player);
+            HudSelector.INSTANCE.track(player, this);
         }
     }
 
@@ -387,20 +787,59 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
     public void stopSeenByPlayer(ServerPlayer player) {
         super.stopSeenByPlayer(player);
         if (this.bossEvent != null) {
-            this.bossEvent.removePlayer(player);
+            HudSelector.INSTANCE.untrack(player, this);
         }
     }
 
+    /**
+     * Adds the player to this gateway's boss event, after linking the boss event to this gateway on the client. Called by the {@link HudSelector}.
+     */
+    protected void showHud(ServerPlayer player) {
+        Gateways.CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), new BossHudMessage(this.bossEvent.getId(), this.getId(), true));
+        this.bossEvent.addPlayer(player);
+    }
+
+    /**
+     * Removes the player from this gateway's boss event. Called by the {@link HudSelector}.
+     */
+    protected void hideHud(ServerPlayer player) {
+        this.bossEvent.removePlayer(player);
+        Gateways.CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), new BossHudMessage(this.bossEvent.getId(), this.getId(), false));
+    }
+
+    public GatePhase getPhase() {
+        return this.entityData.get(PHASE);
+    }
+
+    /**
+     * Returns the number of ticks since the current phase began, derived from the game time.<br>
+     * On the server, time spent dormant is not counted.
+     */
     public int getTicksActive() {
-        return this.entityData.get(TICKS_ACTIVE);
+        long now = this.dormant ? this.dormantSince : this.level().getGameTime();
+        return this.getPhase().getTicksActive(now);
+    }
+
+    /**
+     * Returns the number of ticks remaining in the current phase, which may be negative if the phase is over but the next one has not started.
+     */
+    public int getTicksRemaining() {
+        return this.getPhase().duration() - this.getTicksActive();
     }
 
     public boolean isWaveActive() {
-        return this.entityData.get(WAVE_ACTIVE);
+        return this.getPhase().waveActive();
     }
 
     public int getWave() {
-        return this.entityData.get(WAVE);
+        return this.getPhase().wave();
+    }
+
+    /**
+     * Returns the number of enemies in the current wave, or in the upcoming wave during the setup phase.
+     */
+    public int getMaxEnemies() {
+        return this.getPhase().maxEnemies();
     }
 
     public int getActiveEnemies() {
@@ -428,8 +867,73 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
         this.clientScale = clientScale;
     }
 
+    /**
+     * Returns the spawn positions chosen during the current wave, used by spawn algorithms that space out wave entities.
+     */
+    public SpawnSpacing getSpawnSpacing() {
+        return this.spawnSpacing;
+    }
+
+    /**
+     * Returns the grid of standable cells reachable from this gateway, building it if it has not been built during the current wave.
+     */
+    public SurfaceGrid getSurfaceGrid() {
+        if (this.surfaceGrid == null) {
+            GateRules rules = this.getGateway().rules();
+            this.surfaceGrid = SurfaceGrid.build(this.level(), this.position(), rules.leashRange(), this.getBbWidth() / 2 + rules.spawnRange());
+        }
+        return this.surfaceGrid;
+    }
+
+    /**
+     * Returns the flow field toward the summoner used by {@link FlowFieldGoal}, or null if there is none.
+     */
+    @Nullable
+    public FlowField getFlowField() {
+        return this.flowField;
+    }
+
+    /**
+     * Rebuilds the {@link FlowField} if the summoner has moved to a different cell of the surface grid since it was last built.<br>
+     * If the summoner is briefly off the grid (such as while jumping), the previous field is kept.
+     */
+    protected void updateFlowField() {
+        Player target = this.summonerOrClosest();
+        if (target instanceof FakePlayer || target.level() != this.level()) {
+            this.flowField = null;
+            return;
+        }
+        SurfaceGrid grid = this.getSurfaceGrid();
+        BlockPos cell = FlowField.locate(grid, target.blockPosition());
+        if (this.flowField != null && this.flowField.isCurrent(target.getUUID(), cell)) return;
+        if (cell == null && this.flowField != null && this.flowField.getTargetId().equals(target.getUUID())) return;
+        this.flowField = cell == null ? null : FlowField.build(grid, target.getUUID(), cell);
+    }
+
+    /**
+     * Returns the fixed spawn points of this gateway, gathering them if they have not been gathered since the gateway was opened or loaded.
+     */
+    public SpawnPointSelector getSpawnPoints() {
+        if (!this.spawnPoints.isScanned()) this.spawnPoints.scan((ServerLevel) this.level(), this);
+        return this.spawnPoints;
+    }
+
+    /**
+     * Queues a particle event to be sent to clients tracking this gateway. All events queued during a tick are sent together in one
+     * {@link ParticleMessage} when the {@link GatewayScheduler} flushes them at the end of the tick.
+     */
     public void spawnParticle(double x, double y, double z, ParticleMessage.Type type) {
-        PacketDistro.sendToTracking(Gateways.CHANNEL, new ParticleMessage(this, x, y, z, this.getGateway().color(), type), (ServerLevel) this.level(), new BlockPos((int) x, (int) y, (int) z));
+        if (this.pendingParticles.isEmpty()) GatewayScheduler.INSTANCE.queueParticles(this);
+        this.pendingParticles.add(ParticleMessage.Entry.create(this, x, y, z, type));
+    }
+
+    /**
+     * Sends all queued particle events to clients tracking this gateway.
+     */
+    protected void flushParticles() {
+        if (this.pendingParticles.isEmpty()) return;
+        Gateways.CHANNEL.send(PacketDistributor.TRACKING_ENTITY.with(() -> this), new ParticleMessage(this.getId(), this.pendingParticles));
+        this.pendingParticles = new ArrayList<>();
     }
 
     public void spawnItem(ItemStack stack) {
@@ -497,6 +1001,10 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
     public void handleConversion(Entity entity, LivingEntity outcome) {
         entity.getPersistentData().remove("gateways.owner");
         outcome.getPersistentData().putUUID("gateways.owner", this.getUUID());
+        if (entity.getPersistentData().getBoolean("gateways.no_push")) {
+            entity.getPersistentData().remove("gateways.no_push");
+            outcome.getPersistentData().putBoolean("gateways.no_push", true);
+        }
 
         if (this.unresolvedWaveEntities.contains(entity.getUUID())) {
             this.unresolvedWaveEntities.remove(entity.getUUID());
@@ -521,8 +1029,7 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
      * @return True if the respawn succeeded.
      */
     public boolean respawnEntity(Entity entity) {
-        SpawnAlgorithm algo = this.getGateway().spawnAlgo();
-        Vec3 pos = algo.spawn((ServerLevel) this.level(), this.position(), this, entity);
+        Vec3 pos = this.findSpawnPos(this.position(), entity);
         if (pos == null) return false;
         entity.resetFallDistance();
         this.spawnParticle(entity.getX(), entity.getY(), entity.getZ(), ParticleMessage.Type.SPAWNED);
@@ -535,6 +1042,58 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
         return true;
     }
 
+    /**
+     * Locates a spawn position for a wave entity.
+     * <p>
+     * Recently successful spawn sites for entities of the same size are tried first, followed by cells of the current {@link SurfaceGrid} (if one has
+     * been built and the algorithm {@linkplain SpawnAlgorithm#usesSurfaceGrid() uses it}), and then the {@linkplain Gateway#spawnAlgo() spawn algorithm}
+     * is used.<br>
+     * Spawn sites are not cached for algorithms that {@linkplain SpawnAlgorithm#allowsSiteCache() do not allow it}.
+     * 
+     * @param pos     The position of the gateway.
+     * @param toSpawn The wave entity being spawned.
+     * @return The spawn position, or null, if a suitable spawn location could not be found.
+     */
+    @Nullable
+    public Vec3 findSpawnPos(Vec3 pos, Entity toSpawn) {
+        ServerLevel level = (ServerLevel) this.level();
+        SpawnAlgorithm algo = this.getGateway().spawnAlgo();
+        if (!algo.allowsSiteCache()) return algo.spawn(level, pos, this, toSpawn);
+
+        Vec3 spawnPos = this.spawnSites.poll(level, this, toSpawn);
+        if (spawnPos == null && this.surfaceGrid != null && algo.usesSurfaceGrid()) {
+            spawnPos = this.pollSurfaceGrid(level, toSpawn);
+            if (spawnPos != null) this.spawnSites.record(toSpawn, spawnPos);
+        }
+        if (spawnPos != null) {
+            this.spawnSpacing.add(spawnPos.x, spawnPos.z, toSpawn.getBbWidth() / 2 + SpawnAlgorithms.SPACING_PADDING);
+            return spawnPos;
+        }
+
+        spawnPos = algo.spawn(level, pos, this, toSpawn);
+        if (spawnPos != null) this.spawnSites.record(toSpawn, spawnPos);
+        return spawnPos;
+    }
+
+    /**
+     * Attempts to place a wave entity on a random cell of the current surface grid, re-validating the cell against the live world.
+     */
+    @Nullable
+    protected Vec3 pollSurfaceGrid(ServerLevel level, Entity toSpawn) {
+        double radius = toSpawn.getBbWidth() / 2 + SpawnAlgorithms.SPACING_PADDING;
+        for (int i = 0; i < SURFACE_GRID_TRIES; i++) {
+            BlockPos cell = this.surfaceGrid.sample(level.random);
+            if (cell == null) return null;
+            if (!SpawnAlgorithms.isLoaded(level, cell.getX(), cell.getZ())) continue;
+            if (!SurfaceGrid.isStandable(level, cell)) continue;
+            double x = cell.getX() + 0.5D, y = cell.getY(), z = cell.getZ() + 0.5D;
+            if (!SpawnAlgorithms.noBlockCollision(level, SpawnAlgorithms.getAABB(toSpawn, x, y, z))) continue;
+            if (this.spawnSpacing.clearance(x, z, radius) < 0) continue;
+            return new Vec3(x, y, z);
+        }
+        return null;
+    }
+
     public static void spawnLightningOn(Entity entity, boolean effectOnly) {
         LightningBolt bolt = EntityType.LIGHTNING_BOLT.create(entity.level());
         bolt.setPos(entity.getX(), entity.getY(), entity.getZ());
@@ -552,6 +1111,30 @@ public abstract class GatewayEntity extends Entity implements IEntityAdditionalS
         return entity.getRemovalReason() == RemovalReason.CHANGED_DIMENSION;
     }
 
+    /**
+     * Counts the enemies represented by a collection of wave entities, including all mobs in the stack of each {@linkplain HordeWaveEntity horde}.
+     */
+    public static int countEnemies(Collection<LivingEntity> entities) {
+        int count = 0;
+        for (LivingEntity entity : entities) {
+            count += HordeWaveEntity.getStack(entity);
+        }
+        return count;
+    }
+
+    /**
+     * Checks if a wave entity is prevented from pushing another entity because both belong to the same Gateway, and that Gateway has disabled
+     * {@linkplain GateRules#waveEntityPushing() wave entity pushing}.
+     * <p>
+     * This only reads the persistent data of both entities, as it is called for every nearby entity each time a wave entity pushes.
+     */
+    public static boolean ignoresPushFrom(Entity entity, Entity other) {
+        CompoundTag data = entity.getPersistentData();
+        if (!data.getBoolean("gateways.no_push")) return false;
+        CompoundTag otherData = other.getPersistentData();
+        return otherData.hasUUID("gateways.owner") && otherData.getUUID("gateways.owner").equals(data.getUUID("gateways.owner"));
+    }
+
     @Nullable
     public static GatewayEntity getOwner(Entity entity) {
         if (entity.getPersistentData().contains("gateways.owner")) {
@@ -0,0 +1,107 @@
+package dev.shadowsoffire.gateways.entity;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+import dev.shadowsoffire.gateways.GatewaysConfig;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraftforge.event.TickEvent.LevelTickEvent;
+import net.minecraftforge.event.TickEvent.Phase;
+import net.minecraftforge.event.TickEvent.ServerTickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+/**
+ * A server-wide queue for the periodic work of all Gateways.
+ * <p>
+ * Each Gateway submits its periodic tasks on a tick phase derived from its UUID, which spreads the work of many Gateways across ticks instead of
+ * aligning it on the same tick. Queued tasks are run at the end of the server tick until {@link GatewaysConfig#schedulerBudget} is spent, and any
+ * remaining tasks are carried over to the next tick. At least one task is run each tick, so the queue always makes progress.
+ * <p>
+ * The scheduler also advances the {@link TimingWheel} of each level at the end of its tick, and sends the particle events queued by each Gateway
+ * at the end of the server tick.
+ */
+public class GatewayScheduler {
+
+    public static final GatewayScheduler INSTANCE = new GatewayScheduler();
+
+    protected final Deque<Entry> queue = new ArrayDeque<>();
+    protected final List<GatewayEntity> particleQueue = new ArrayList<>();
+
+    /**
+     * Queues a task for a Gateway. Does nothing if the same task is already queued for that Gateway.
+     */
+    public void schedule(GatewayEntity gate, Task task) {
+        if (gate.scheduledTasks.add(task)) {
+            this.queue.addLast(new Entry(gate, task));
+        }
+    }
+
+    /**
+     * Queues a Gateway to have its pending particle events sent at the end of the tick. Called when the Gateway queues its first event of the tick.
+     */
+    public void queueParticles(GatewayEntity gate) {
+        this.particleQueue.add(gate);
+    }
+
+    @SubscribeEvent
+    public void tick(ServerTickEvent e) {
+        if (e.phase != Phase.END) return;
+        this.runTasks();
+        // Flushed after the tasks, so that particles emitted by tasks are sent on the same tick.
+        for (GatewayEntity gate : this.particleQueue) {
+            gate.flushParticles();
+        }
+        this.particleQueue.clear();
+    }
+
+    protected void runTasks() {
+        if (this.queue.isEmpty()) return;
+        long deadline = System.nanoTime() + (long) (GatewaysConfig.schedulerBudget * 1_000_000);
+        do {
+            Entry entry = this.queue.pollFirst();
+            entry.gate.scheduledTasks.remove(entry.task);
+            if (entry.gate.isAlive() && !entry.gate.isDormant()) {
+                entry.task.action.accept(entry.gate);
+            }
+        }
+        while (!this.queue.isEmpty() && System.nanoTime() < deadline);
+    }
+
+    @SubscribeEvent
+    public void levelTick(LevelTickEvent e) {
+        if (e.phase == Phase.END && e.level instanceof ServerLevel level) {
+            TimingWheel.tick(level);
+        }
+    }
+
+    @SubscribeEvent
+    public void stopped(ServerStoppedEvent e) {
+        this.queue.clear();
+        this.particleQueue.clear();
+        TimingWheel.clear();
+    }
+
+    public static enum Task {
+        /**
+         * Validates the wave entities of the Gateway. See {@link GatewayEntity#validateRoster()}.
+         */
+        ROSTER(GatewayEntity::validateRoster),
+        /**
+         * Drops a batch of the Gateway's queued rewards. See {@link GatewayEntity#dropQueuedItems()}.
+         */
+        DROPS(GatewayEntity::dropQueuedItems);
+
+        private final Consumer<GatewayEntity> action;
+
+        Task(Consumer<GatewayEntity> action) {
+            this.action = action;
+        }
+    }
+
+    protected static record Entry(GatewayEntity gate, Task task) {}
+
+}
@@ -0,0 +1,164 @@
+package dev.shadowsoffire.gateways.entity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+import dev.shadowsoffire.gateways.GatewaysConfig;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerBossEvent;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.BossEvent.BossBarColor;
+import net.minecraft.world.BossEvent.BossBarOverlay;
+import net.minecraftforge.event.TickEvent.Phase;
+import net.minecraftforge.event.TickEvent.ServerTickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent.PlayerLoggedOutEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+/**
+ * Chooses which Gateway HUDs are shown to each player.
+ * <p>
+ * Each player is shown the HUDs of at most {@link GatewaysConfig#maxHudGateways} of the Gateways they are tracking. Gateways summoned by the player are
+ * preferred, followed by Gateways with an active wave, and then the nearest Gateways. The remaining Gateways are collapsed into a single summary bar.
+ * <p>
+ * The selection is refreshed once per {@link #UPDATE_INTERVAL}. Newly tracked Gateways are shown immediately if the player has a free slot.
+ */
+public class HudSelector {
+
+    public static final HudSelector INSTANCE = new HudSelector();
+
+    /**
+     * The interval, in ticks, at which the selection of every player is refreshed.
+     */
+    public static final int UPDATE_INTERVAL = 40;
+
+    protected final Map<UUID, PlayerHud> huds = new HashMap<>();
+    protected int ticks;
+
+    /**
+     * Called when a player begins tracking a Gateway that has a boss event.
+     */
+    public void track(ServerPlayer player, GatewayEntity gate) {
+        PlayerHud hud = this.huds.computeIfAbsent(player.getUUID(), id -> new PlayerHud(player));
+        hud.tracked.add(gate);
+        int limit = GatewaysConfig.maxHudGateways;
+        if (limit <= 0 || hud.shown.size() < limit) {
+            hud.show(gate);
+        }
+    }
+
+    /**
+     * Called when a player stops tracking a Gateway, including when the Gateway is removed.
+     */
+    public void untrack(ServerPlayer player, GatewayEntity gate) {
+        PlayerHud hud = this.huds.get(player.getUUID());
+        if (hud == null) return;
+        hud.tracked.remove(gate);
+        if (hud.shown.remove(gate)) gate.hideHud(player);
+        if (hud.tracked.isEmpty()) {
+            hud.setSummary(0, 0);
+            this.huds.remove(player.getUUID());
+        }
+    }
+
+    @SubscribeEvent
+    public void tick(ServerTickEvent e) {
+        if (e.phase != Phase.END || ++this.ticks % UPDATE_INTERVAL != 0) return;
+        for (PlayerHud hud : this.huds.values()) {
+            hud.update(GatewaysConfig.maxHudGateways);
+        }
+    }
+
+    @SubscribeEvent
+    public void loggedOut(PlayerLoggedOutEvent e) {
+        PlayerHud hud = this.huds.remove(e.getEntity().getUUID());
+        if (hud != null) hud.setSummary(0, 0);
+    }
+
+    @SubscribeEvent
+    public void stopped(ServerStoppedEvent e) {
+        this.huds.clear();
+    }
+
+    protected static class PlayerHud {
+
+        protected final ServerPlayer player;
+        protected final Set<GatewayEntity> tracked = new HashSet<>();
+        protected final Set<GatewayEntity> shown = new HashSet<>();
+        protected final Comparator<GatewayEntity> priority;
+        @Nullable
+        protected ServerBossEvent summary;
+        protected int summaryCount, summaryActive;
+
+        protected PlayerHud(ServerPlayer player) {
+            this.player = player;
+            UUID id = player.getUUID();
+            this.priority = Comparator.comparing((GatewayEntity g) -> !id.equals(g.summonerId))
+                .thenComparing(g -> !g.isWaveActive())
+                .thenComparingDouble(g -> g.distanceToSqr(player));
+        }
+
+        protected void update(int limit) {
+            if (limit <= 0 || this.tracked.size() <= limit) {
+                for (GatewayEntity gate : this.tracked) {
+                    if (!this.shown.contains(gate)) this.show(gate);
+                }
+                this.setSummary(0, 0);
+                return;
+            }
+
+            List<GatewayEntity> sorted = new ArrayList<>(this.tracked);
+            sorted.sort(this.priority);
+            Set<GatewayEntity> selected = new HashSet<>(sorted.subList(0, limit));
+            this.shown.removeIf(gate -> {
+                if (selected.contains(gate)) return false;
+                gate.hideHud(this.player);
+                return true;
+            });
+            for (GatewayEntity gate : selected) {
+                if (!this.shown.contains(gate)) this.show(gate);
+            }
+
+            List<GatewayEntity> hidden = sorted.subList(limit, sorted.size());
+            this.setSummary(hidden.size(), (int) hidden.stream().filter(GatewayEntity::isWaveActive).count());
+        }
+
+        protected void show(GatewayEntity gate) {
+            this.shown.add(gate);
+            gate.showHud(this.player);
+        }
+
+        /**
+         * Updates the summary bar, which lists the number of tracked Gateways whose HUDs are not shown. The bar is removed when the count is zero.
+         */
+        protected void setSummary(int count, int active) {
+            if (count == this.summaryCount && active == this.summaryActive) return;
+            this.summaryCount = count;
+            this.summaryActive = active;
+            if (count == 0) {
+                if (this.summary != null) this.summary.removeAllPlayers();
+                this.summary = null;
+                return;
+            }
+            Component name = Component.translatable("boss.gateways.summary", count, active);
+            if (this.summary == null) {
+                this.summary = new ServerBossEvent(name, BossBarColor.PURPLE, BossBarOverlay.NOTCHED_10);
+                this.summary.setProgress((float) active / count);
+                this.summary.addPlayer(this.player);
+            }
+            else {
+                this.summary.setName(name);
+                this.summary.setProgress((float) active / count);
+            }
+        }
+    }
+
+}
@@ -34,8 +34,8 @@ public class NormalGatewayEntity extends GatewayEntity {
     }
 
     @Override
-    public Wave getCurrentWave() {
-        return this.getGateway().getWave(Math.min(this.getGateway().getNumWaves() - 1, this.getWave()));
+    public Wave getWaveAt(int wave) {
+        return this.getGateway().getWave(Math.min(this.getGateway().getNumWaves() - 1, wave));
     }
 
     @Override
@@ -0,0 +1,168 @@
+package dev.shadowsoffire.gateways.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.server.level.ServerLevel;
+
+/**
+ * A hierarchical timing wheel of game-time deadlines, with one wheel per level.
+ * <p>
+ * The wheel has {@link #LEVELS} levels of {@link #SLOTS} slots. Level 0 holds timers due within the current 64 ticks, level 1 holds timers due within the
+ * current 4096 ticks, and so on. As time passes, the timers in each higher level slot are moved down as their slot is reached, so that advancing the
+ * wheel by one tick only touches the timers that are due. Timers further away than the highest level are kept in an overflow list.
+ */
+public class TimingWheel {
+
+    public static final int SLOT_BITS = 6;
+    public static final int SLOTS = 1 << SLOT_BITS;
+    public static final int LEVELS = 4;
+
+    /**
+     * Gaps in game time larger than this are handled by re-inserting every timer instead of stepping through each tick.
+     */
+    public static final int MAX_STEP = 4096;
+
+    private static final Map<ServerLevel, TimingWheel> WHEELS = new WeakHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    protected final List<Timer>[][] wheels = new List[LEVELS][SLOTS];
+    protected final List<Timer> overflow = new ArrayList<>();
+    protected final List<Timer> expired = new ArrayList<>();
+    protected long currentTime;
+
+    protected TimingWheel(long currentTime) {
+        this.currentTime = currentTime;
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                this.wheels[level][slot] = new ArrayList<>();
+            }
+        }
+    }
+
+    /**
+     * Returns the timing wheel of a level, creating it if needed. Must be called from the server thread.
+     */
+    public static TimingWheel forLevel(ServerLevel level) {
+        return WHEELS.computeIfAbsent(level, l -> new TimingWheel(l.getGameTime()));
+    }
+
+    /**
+     * Advances the wheel of a level to its current game time. Called at the end of each level tick.
+     */
+    public static void tick(ServerLevel level) {
+        TimingWheel wheel = WHEELS.get(level);
+        if (wheel != null) wheel.advance(level.getGameTime());
+    }
+
+    public static void clear() {
+        WHEELS.clear();
+    }
+
+    /**
+     * Schedules an action to run when the game time reaches the deadline. Deadlines that have already passed run on the next advance.
+     *
+     * @return A handle which may be used to cancel the timer.
+     */
+    public Timer schedule(long deadline, Runnable action) {
+        Timer timer = new Timer(deadline, action);
+        this.insert(timer);
+        return timer;
+    }
+
+    /**
+     * Advances the wheel to the given time, running all timers with deadlines at or before it.
+     */
+    public void advance(long time) {
+        if (time - this.currentTime > MAX_STEP) {
+            List<Timer> all = new ArrayList<>(this.overflow);
+            this.overflow.clear();
+            for (List<Timer>[] level : this.wheels) {
+                for (List<Timer> slot : level) {
+                    all.addAll(slot);
+                    slot.clear();
+                }
+            }
+            this.currentTime = time;
+            all.forEach(this::insert);
+        }
+
+        while (this.currentTime < time) {
+            this.currentTime++;
+            // Cascade the higher levels first, so that timers moved down to level 0 can still fire this tick.
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((this.currentTime & ((1L << SLOT_BITS * level) - 1)) == 0) {
+                    this.reinsert(this.wheels[level][this.slot(this.currentTime, level)]);
+                }
+            }
+            if ((this.currentTime & ((1L << SLOT_BITS * LEVELS) - 1)) == 0) {
+                this.reinsert(this.overflow);
+            }
+            List<Timer> due = this.wheels[0][this.slot(this.currentTime, 0)];
+            if (!due.isEmpty()) {
+                this.expired.addAll(due);
+                due.clear();
+            }
+        }
+
+        if (!this.expired.isEmpty()) {
+            List<Timer> toRun = new ArrayList<>(this.expired);
+            this.expired.clear();
+            for (Timer timer : toRun) {
+                if (!timer.cancelled) timer.action.run();
+            }
+        }
+    }
+
+    protected void insert(Timer timer) {
+        if (timer.cancelled) return;
+        if (timer.deadline <= this.currentTime) {
+            this.expired.add(timer);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            // A timer belongs to the lowest level whose current revolution contains its deadline.
+            int shift = SLOT_BITS * (level + 1);
+            if (timer.deadline >> shift == this.currentTime >> shift) {
+                this.wheels[level][this.slot(timer.deadline, level)].add(timer);
+                return;
+            }
+        }
+        this.overflow.add(timer);
+    }
+
+    protected void reinsert(List<Timer> timers) {
+        if (timers.isEmpty()) return;
+        List<Timer> copy = new ArrayList<>(timers);
+        timers.clear();
+        copy.forEach(this::insert);
+    }
+
+    protected int slot(long time, int level) {
+        return (int) (time >> SLOT_BITS * level) & SLOTS - 1;
+    }
+
+    public static class Timer {
+
+        protected final long deadline;
+        protected final Runnable action;
+        protected boolean cancelled;
+
+        protected Timer(long deadline, Runnable action) {
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        public long getDeadline() {
+            return this.deadline;
+        }
+
+    }
+
+}
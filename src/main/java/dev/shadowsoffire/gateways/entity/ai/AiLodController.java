@@ -0,0 +1,78 @@
+package dev.shadowsoffire.gateways.entity.ai;
+
+import java.util.Collection;
+import java.util.List;
+
+import dev.shadowsoffire.gateways.GatewaysConfig;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+
+/**
+ * Controls the AI level of detail of wave entities, based on their distance to the nearest player.
+ * <p>
+ * Wave entities within {@link GatewaysConfig#aiLodNearRange} of a player evaluate their goals at the vanilla rate. Further away, their goal and target
+ * selectors only attempt to start new goals every {@link GatewaysConfig#aiLodMidRate} or {@link GatewaysConfig#aiLodFarRate} ticks, which reduces the
+ * cost of goal checks and target scans for mobs that no player is close enough to notice. Goals that are already running are unaffected.
+ * <p>
+ * The rate is stored on the mob and applied by {@link dev.shadowsoffire.gateways.mixin.MobMixin}, which skips the full selector tick on off-rate ticks.
+ */
+public class AiLodController {
+
+    /**
+     * The rate at which vanilla mobs attempt to start new goals, which is every other tick.
+     */
+    public static final int DEFAULT_GOAL_RATE = 2;
+
+    /**
+     * Updates the goal rate of each wave entity. Called once per second by the owning Gateway.
+     */
+    public static void update(ServerLevel level, Collection<LivingEntity> entities) {
+        List<ServerPlayer> players = level.players().stream().filter(p -> !p.isSpectator()).toList();
+        double nearSq = GatewaysConfig.aiLodNearRange * GatewaysConfig.aiLodNearRange;
+        double farSq = GatewaysConfig.aiLodFarRange * GatewaysConfig.aiLodFarRange;
+        for (LivingEntity entity : entities) {
+            if (!(entity instanceof Mob mob)) continue;
+            double distSq = Double.MAX_VALUE;
+            for (ServerPlayer player : players) {
+                distSq = Math.min(distSq, player.distanceToSqr(mob));
+            }
+            int rate = distSq <= nearSq ? DEFAULT_GOAL_RATE : distSq <= farSq ? GatewaysConfig.aiLodMidRate : GatewaysConfig.aiLodFarRate;
+            setGoalRate(mob, rate);
+        }
+    }
+
+    /**
+     * Restores full AI to a wave entity that is no longer controlled by a Gateway.
+     */
+    public static void restore(Mob mob) {
+        setGoalRate(mob, DEFAULT_GOAL_RATE);
+    }
+
+    protected static void setGoalRate(Mob mob, int rate) {
+        ((GoalRateHolder) mob).gateways_setGoalRate(rate);
+    }
+
+    /**
+     * Checks if a mob should attempt to start new goals this tick. Only called on the ticks where vanilla would do so.
+     *
+     * @param mob  The mob being ticked.
+     * @param rate The mob's goal rate, in ticks.
+     */
+    public static boolean shouldUpdateGoals(Mob mob, int rate) {
+        if (rate <= DEFAULT_GOAL_RATE) return true;
+        // Vanilla only performs the full update when this counter is even, so accepting the first two ticks of each interval yields one update per interval.
+        int tick = mob.level().getServer().getTickCount() + mob.getId();
+        return tick % rate < 2;
+    }
+
+    /**
+     * Implemented by {@link Mob} via mixin, holding the goal rate assigned by the controller.
+     */
+    public static interface GoalRateHolder {
+
+        void gateways_setGoalRate(int rate);
+    }
+
+}
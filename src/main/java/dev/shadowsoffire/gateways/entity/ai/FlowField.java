@@ -0,0 +1,117 @@
+package dev.shadowsoffire.gateways.entity.ai;
+
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+import dev.shadowsoffire.gateways.gate.spawn.SurfaceGrid;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+
+/**
+ * A distance map over the cells of a {@link SurfaceGrid}, counting the number of steps from each cell to the cell of a target.
+ * <p>
+ * Wave entities following the field move to the neighbouring cell with the lowest distance, which replaces one path search per entity with a single
+ * breadth-first search per Gateway. Steps follow the same movement rules as the grid: up by {@link SurfaceGrid#MAX_STEP_UP} or down by
+ * {@link SurfaceGrid#MAX_DROP}.
+ */
+public class FlowField {
+
+    protected final UUID targetId;
+    protected final long origin;
+    protected final Long2IntMap distances = new Long2IntOpenHashMap();
+
+    protected FlowField(UUID targetId, long origin) {
+        this.targetId = targetId;
+        this.origin = origin;
+        this.distances.defaultReturnValue(-1);
+    }
+
+    /**
+     * Builds the flow field toward a target.
+     *
+     * @param grid     The surface grid of the Gateway.
+     * @param targetId The UUID of the entity being followed.
+     * @param target   The feet position of the entity being followed.
+     * @return The flow field, or null if the target is not standing on a cell of the grid.
+     */
+    @Nullable
+    public static FlowField build(SurfaceGrid grid, UUID targetId, BlockPos target) {
+        BlockPos start = locate(grid, target);
+        if (start == null) return null;
+
+        FlowField field = new FlowField(targetId, start.asLong());
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        field.distances.put(start.asLong(), 0);
+        queue.enqueue(start.asLong());
+        while (!queue.isEmpty()) {
+            long cell = queue.dequeueLong();
+            int dist = field.distances.get(cell);
+            int x = BlockPos.getX(cell), y = BlockPos.getY(cell), z = BlockPos.getZ(cell);
+            for (Direction dir : Direction.Plane.HORIZONTAL) {
+                // The search runs backwards from the target, so a neighbour may be up to MAX_DROP above or MAX_STEP_UP below this cell.
+                for (int dy = -SurfaceGrid.MAX_STEP_UP; dy <= SurfaceGrid.MAX_DROP; dy++) {
+                    long next = BlockPos.asLong(x + dir.getStepX(), y + dy, z + dir.getStepZ());
+                    if (grid.contains(next) && !field.distances.containsKey(next)) {
+                        field.distances.put(next, dist + 1);
+                        queue.enqueue(next);
+                    }
+                }
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Finds the cell of the grid that an entity with the given feet position is standing in, allowing for slabs and partial blocks.
+     */
+    @Nullable
+    public static BlockPos locate(SurfaceGrid grid, BlockPos feet) {
+        if (grid.contains(feet.asLong())) return feet;
+        if (grid.contains(feet.above().asLong())) return feet.above();
+        if (grid.contains(feet.below().asLong())) return feet.below();
+        return null;
+    }
+
+    /**
+     * Selects the neighbour of a cell that is closest to the target.
+     *
+     * @return The next cell to move to, or null if the cell is not part of the field or is the target's cell.
+     */
+    @Nullable
+    public BlockPos next(BlockPos cell) {
+        int best = this.distances.get(cell.asLong());
+        if (best <= 0) return null;
+        BlockPos next = null;
+        for (Direction dir : Direction.Plane.HORIZONTAL) {
+            for (int dy = SurfaceGrid.MAX_STEP_UP; dy >= -SurfaceGrid.MAX_DROP; dy--) {
+                BlockPos pos = cell.offset(dir.getStepX(), dy, dir.getStepZ());
+                int dist = this.distances.get(pos.asLong());
+                if (dist >= 0 && dist < best) {
+                    best = dist;
+                    next = pos;
+                }
+            }
+        }
+        return next;
+    }
+
+    public boolean contains(BlockPos cell) {
+        return this.distances.containsKey(cell.asLong());
+    }
+
+    /**
+     * Checks if this field was built toward the given target standing in the given cell, in which case it does not need to be rebuilt.
+     */
+    public boolean isCurrent(UUID targetId, @Nullable BlockPos cell) {
+        return this.targetId.equals(targetId) && cell != null && cell.asLong() == this.origin;
+    }
+
+    public UUID getTargetId() {
+        return this.targetId;
+    }
+
+}
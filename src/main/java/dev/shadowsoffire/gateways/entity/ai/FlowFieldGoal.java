@@ -0,0 +1,121 @@
+package dev.shadowsoffire.gateways.entity.ai;
+
+import java.lang.ref.WeakReference;
+import java.util.EnumSet;
+
+import javax.annotation.Nullable;
+
+import dev.shadowsoffire.gateways.GatewaysConfig;
+import dev.shadowsoffire.gateways.entity.GatewayEntity;
+import dev.shadowsoffire.gateways.gate.GateRules;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.PathfinderMob;
+import net.minecraft.world.entity.ai.goal.Goal;
+import net.minecraft.world.entity.ai.goal.WrappedGoal;
+import net.minecraft.world.entity.ai.navigation.GroundPathNavigation;
+import net.minecraft.world.entity.monster.RangedAttackMob;
+
+/**
+ * A movement goal which moves a wave entity toward its target by following the {@link FlowField} of its Gateway, instead of computing its own path.
+ * <p>
+ * The goal only runs while the wave entity is targeting the entity the field was built for, and is further than {@link #HANDOFF_DISTANCE} from it. Once
+ * close, the mob's own attack goals take over.
+ * <p>
+ * The Gateway is only weakly referenced, as wave entities may outlive it (such as when {@link GateRules#removeOnFailure()} is disabled). Once the Gateway is
+ * removed, the goal never runs again.
+ */
+public class FlowFieldGoal extends Goal {
+
+    /**
+     * The priority of this goal. It must outrank the attack goals of most mobs, which also claim the movement flag.
+     */
+    public static final int PRIORITY = 1;
+
+    /**
+     * The distance to the target at which this goal stops, letting the mob's attack goals path the rest of the way.
+     */
+    public static final double HANDOFF_DISTANCE = 6;
+
+    public static final double SPEED = 1.0D;
+
+    protected final Mob mob;
+    protected final WeakReference<GatewayEntity> gate;
+
+    public FlowFieldGoal(Mob mob, GatewayEntity gate) {
+        this.mob = mob;
+        this.gate = new WeakReference<>(gate);
+        this.setFlags(EnumSet.of(Goal.Flag.MOVE));
+    }
+
+    @Override
+    public boolean canUse() {
+        return this.getCell() != null;
+    }
+
+    @Override
+    public boolean canContinueToUse() {
+        return this.getCell() != null;
+    }
+
+    @Override
+    public void start() {
+        this.mob.getNavigation().stop();
+    }
+
+    @Override
+    public boolean requiresUpdateEveryTick() {
+        return true;
+    }
+
+    @Override
+    public void tick() {
+        GatewayEntity gate = this.getGate();
+        BlockPos cell = this.getCell();
+        if (gate == null || cell == null) return;
+        BlockPos next = gate.getFlowField().next(cell);
+        if (next != null) {
+            this.mob.getMoveControl().setWantedPosition(next.getX() + 0.5D, next.getY(), next.getZ() + 0.5D, SPEED);
+        }
+        this.mob.getLookControl().setLookAt(this.mob.getTarget(), 30, 30);
+    }
+
+    /**
+     * Returns the Gateway that owns this goal, or null if it has been removed or unloaded.
+     */
+    @Nullable
+    public GatewayEntity getGate() {
+        GatewayEntity gate = this.gate.get();
+        return gate == null || gate.isRemoved() ? null : gate;
+    }
+
+    /**
+     * Returns the flow field cell the mob is standing in, or null if the goal should not run.
+     */
+    @Nullable
+    protected BlockPos getCell() {
+        GatewayEntity gate = this.getGate();
+        if (!GatewaysConfig.flowFieldPathing || gate == null) return null;
+        FlowField field = gate.getFlowField();
+        LivingEntity target = this.mob.getTarget();
+        if (field == null || target == null || !target.isAlive() || !field.getTargetId().equals(target.getUUID())) return null;
+        if (this.mob.distanceToSqr(target) <= HANDOFF_DISTANCE * HANDOFF_DISTANCE) return null;
+        BlockPos cell = FlowField.locate(gate.getSurfaceGrid(), this.mob.blockPosition());
+        return cell != null && field.contains(cell) ? cell : null;
+    }
+
+    /**
+     * Adds this goal to a wave entity, if it is a ground-based melee mob and does not already have it.<br>
+     * Goals left over from a Gateway that no longer exists are replaced.
+     */
+    public static void attach(Mob mob, GatewayEntity gate) {
+        if (!(mob instanceof PathfinderMob) || mob instanceof RangedAttackMob || !(mob.getNavigation() instanceof GroundPathNavigation)) return;
+        for (WrappedGoal goal : mob.goalSelector.getAvailableGoals()) {
+            if (goal.getGoal() instanceof FlowFieldGoal flow && flow.getGate() != null) return;
+        }
+        mob.goalSelector.removeAllGoals(goal -> goal instanceof FlowFieldGoal);
+        mob.goalSelector.addGoal(PRIORITY, new FlowFieldGoal(mob, gate));
+    }
+
+}
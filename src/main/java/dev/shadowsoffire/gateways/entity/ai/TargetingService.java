@@ -0,0 +1,96 @@
+package dev.shadowsoffire.gateways.entity.ai;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import dev.shadowsoffire.gateways.GatewaysConfig;
+import dev.shadowsoffire.gateways.entity.GatewayEntity;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.EntitySelector;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.goal.Goal;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.common.util.FakePlayer;
+
+/**
+ * Assigns targets to the wave entities of a Gateway, replacing their own target goals.
+ * <p>
+ * Once per second, the service collects the players that are eligible targets (alive, in survival or adventure mode, and within the leash range).
+ * Wave entities keep their current target while it remains valid, and are otherwise assigned the nearest eligible player. The target goals of each
+ * controlled wave entity are suppressed, so the cost of target acquisition does not grow with the size of the wave. Retaliation against attackers is
+ * handled by {@link #retaliate}.
+ */
+public class TargetingService {
+
+    protected final List<Player> eligible = new ArrayList<>();
+
+    /**
+     * Refreshes the eligible players and assigns targets to the given wave entities. Called once per second by the owning Gateway.
+     */
+    public void update(ServerLevel level, GatewayEntity gate, Collection<LivingEntity> entities) {
+        this.eligible.clear();
+        double leashSq = gate.getGateway().getLeashRangeSq();
+        for (ServerPlayer player : level.players()) {
+            if (EntitySelector.NO_CREATIVE_OR_SPECTATOR.test(player) && player.isAlive() && player.distanceToSqr(gate) <= leashSq) {
+                this.eligible.add(player);
+            }
+        }
+
+        for (LivingEntity entity : entities) {
+            if (!(entity instanceof Mob mob)) continue;
+            mob.targetSelector.disableControlFlag(Goal.Flag.TARGET);
+            if (!isValidTarget(mob.getTarget())) {
+                Player target = this.findTarget(mob, gate);
+                if (target != null) mob.setTarget(target);
+                else if (mob.getTarget() != null) mob.setTarget(null);
+            }
+        }
+    }
+
+    /**
+     * Selects the nearest eligible player, or the summoner of the Gateway if no player is eligible.
+     */
+    @Nullable
+    protected Player findTarget(Mob mob, GatewayEntity gate) {
+        Player best = null;
+        double bestDist = Double.MAX_VALUE;
+        for (Player player : this.eligible) {
+            double dist = player.distanceToSqr(mob);
+            if (dist < bestDist) {
+                best = player;
+                bestDist = dist;
+            }
+        }
+        if (best == null) {
+            Player summoner = gate.summonerOrClosest();
+            if (isValidTarget(summoner)) best = summoner;
+        }
+        return best;
+    }
+
+    /**
+     * Returns control of targeting to a wave entity's own goals.
+     */
+    public static void release(Mob mob) {
+        mob.targetSelector.enableControlFlag(Goal.Flag.TARGET);
+    }
+
+    /**
+     * Makes a wave entity target the entity that attacked it, since its own retaliation goal is suppressed while the service controls it.
+     */
+    public static void retaliate(Mob mob, LivingEntity attacker) {
+        if (GatewaysConfig.centralTargeting && attacker != mob && isValidTarget(attacker) && mob.canAttack(attacker)) {
+            mob.setTarget(attacker);
+        }
+    }
+
+    protected static boolean isValidTarget(@Nullable LivingEntity target) {
+        return target != null && target.isAlive() && !target.isRemoved() && EntitySelector.NO_CREATIVE_OR_SPECTATOR.test(target) && !(target instanceof FakePlayer);
+    }
+
+}
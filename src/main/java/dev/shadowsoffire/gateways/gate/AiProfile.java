@@ -0,0 +1,143 @@
+package dev.shadowsoffire.gateways.gate;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.google.common.collect.BiMap;
+import com.google.common.collect.ImmutableBiMap;
+import com.mojang.datafixers.util.Either;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+import dev.shadowsoffire.placebo.codec.PlaceboCodecs;
+import net.minecraft.Util;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.goal.AvoidEntityGoal;
+import net.minecraft.world.entity.ai.goal.BreakDoorGoal;
+import net.minecraft.world.entity.ai.goal.FleeSunGoal;
+import net.minecraft.world.entity.ai.goal.FloatGoal;
+import net.minecraft.world.entity.ai.goal.Goal;
+import net.minecraft.world.entity.ai.goal.LeapAtTargetGoal;
+import net.minecraft.world.entity.ai.goal.LookAtPlayerGoal;
+import net.minecraft.world.entity.ai.goal.MeleeAttackGoal;
+import net.minecraft.world.entity.ai.goal.MoveThroughVillageGoal;
+import net.minecraft.world.entity.ai.goal.OpenDoorGoal;
+import net.minecraft.world.entity.ai.goal.PanicGoal;
+import net.minecraft.world.entity.ai.goal.RandomLookAroundGoal;
+import net.minecraft.world.entity.ai.goal.RandomStrollGoal;
+import net.minecraft.world.entity.ai.goal.RangedAttackGoal;
+import net.minecraft.world.entity.ai.goal.RangedBowAttackGoal;
+import net.minecraft.world.entity.ai.goal.RangedCrossbowAttackGoal;
+import net.minecraft.world.entity.ai.goal.RemoveBlockGoal;
+import net.minecraft.world.entity.ai.goal.RestrictSunGoal;
+import net.minecraft.world.entity.ai.goal.target.HurtByTargetGoal;
+import net.minecraft.world.entity.ai.goal.target.NearestAttackableTargetGoal;
+
+/**
+ * An AI Profile removes unneeded goals from a wave entity when it joins the level, reducing the cost of its goal selectors.
+ * <p>
+ * Goals are matched against the named {@link #GOAL_TYPES} by class, including subclasses. Goals that do not match any named type (such as goals unique to a
+ * single mob) are never removed.
+ *
+ * @param mode  If the listed goal types are the only ones kept, or the ones removed.
+ * @param goals The names of the goal types in the list.
+ */
+public record AiProfile(Mode mode, List<String> goals) {
+
+    /**
+     * The persistent data key holding the encoded profile of a wave entity.
+     */
+    public static final String TAG = "gateways.ai_profile";
+
+    /**
+     * The named goal types that may be referenced by an AI Profile. When a goal matches multiple types, the first is used.
+     */
+    public static final Map<String, Class<? extends Goal>> GOAL_TYPES = Collections.unmodifiableMap(Util.make(new LinkedHashMap<>(), map -> {
+        map.put("float", FloatGoal.class);
+        map.put("random_stroll", RandomStrollGoal.class);
+        map.put("look_at_player", LookAtPlayerGoal.class);
+        map.put("random_look_around", RandomLookAroundGoal.class);
+        map.put("open_door", OpenDoorGoal.class);
+        map.put("break_door", BreakDoorGoal.class);
+        map.put("move_through_village", MoveThroughVillageGoal.class);
+        map.put("remove_block", RemoveBlockGoal.class);
+        map.put("restrict_sun", RestrictSunGoal.class);
+        map.put("flee_sun", FleeSunGoal.class);
+        map.put("avoid_entity", AvoidEntityGoal.class);
+        map.put("panic", PanicGoal.class);
+        map.put("leap_at_target", LeapAtTargetGoal.class);
+        map.put("melee_attack", MeleeAttackGoal.class);
+        map.put("ranged_attack", RangedAttackGoal.class);
+        map.put("bow_attack", RangedBowAttackGoal.class);
+        map.put("crossbow_attack", RangedCrossbowAttackGoal.class);
+        map.put("hurt_by_target", HurtByTargetGoal.class);
+        map.put("nearest_attackable_target", NearestAttackableTargetGoal.class);
+    }));
+
+    public static final AiProfile NONE = new AiProfile(Mode.BLACKLIST, Collections.emptyList());
+    public static final AiProfile COMBAT_ONLY = new AiProfile(Mode.BLACKLIST, List.of("random_stroll", "look_at_player", "random_look_around", "open_door", "move_through_village", "remove_block"));
+    public static final AiProfile NO_WANDER = new AiProfile(Mode.BLACKLIST, List.of("random_stroll", "move_through_village"));
+
+    public static final BiMap<String, AiProfile> PRESETS = ImmutableBiMap.of("none", NONE, "combat_only", COMBAT_ONLY, "no_wander", NO_WANDER);
+
+    public static final Codec<AiProfile> DIRECT_CODEC = RecordCodecBuilder.create(inst -> inst
+        .group(
+            PlaceboCodecs.nullableField(Mode.CODEC, "mode", Mode.BLACKLIST).forGetter(AiProfile::mode),
+            Codec.STRING.comapFlatMap(AiProfile::validateGoal, Function.identity()).listOf().fieldOf("goals").forGetter(AiProfile::goals))
+        .apply(inst, AiProfile::new));
+
+    public static final Codec<AiProfile> PRESET_CODEC = Codec.STRING.comapFlatMap(
+        name -> PRESETS.containsKey(name) ? DataResult.success(PRESETS.get(name)) : DataResult.error(() -> "Unknown AI profile preset: " + name),
+        profile -> PRESETS.inverse().get(profile));
+
+    /**
+     * Accepts either the name of a {@linkplain #PRESETS preset} or a full AI Profile object.
+     */
+    public static final Codec<AiProfile> CODEC = Codec.either(PRESET_CODEC, DIRECT_CODEC).xmap(
+        either -> either.map(Function.identity(), Function.identity()),
+        profile -> PRESETS.containsValue(profile) ? Either.left(profile) : Either.right(profile));
+
+    /**
+     * Removes all goals from the mob's goal and target selectors that are not permitted by this profile.
+     */
+    public void apply(Mob mob) {
+        if (this.mode == Mode.BLACKLIST && this.goals.isEmpty()) return;
+        mob.goalSelector.removeAllGoals(this::shouldRemove);
+        mob.targetSelector.removeAllGoals(this::shouldRemove);
+    }
+
+    /**
+     * Applies the profile stored in the persistent data of a wave entity, if it has one.
+     */
+    public static void applyStored(Mob mob) {
+        Tag tag = mob.getPersistentData().get(TAG);
+        if (tag != null) CODEC.parse(NbtOps.INSTANCE, tag).result().ifPresent(p -> p.apply(mob));
+    }
+
+    private static DataResult<String> validateGoal(String goal) {
+        return GOAL_TYPES.containsKey(goal) ? DataResult.success(goal) : DataResult.error(() -> "Unknown goal type in AI profile: " + goal);
+    }
+
+    protected boolean shouldRemove(Goal goal) {
+        for (Map.Entry<String, Class<? extends Goal>> type : GOAL_TYPES.entrySet()) {
+            if (type.getValue().isInstance(goal)) {
+                return this.goals.contains(type.getKey()) == (this.mode == Mode.BLACKLIST);
+            }
+        }
+        return false;
+    }
+
+    public static enum Mode {
+        WHITELIST,
+        BLACKLIST;
+
+        public static final Codec<Mode> CODEC = PlaceboCodecs.enumCodec(Mode.class);
+    }
+
+}
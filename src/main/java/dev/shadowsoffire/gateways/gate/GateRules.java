@@ -12,6 +12,7 @@ import com.mojang.serialization.Codec;
 import com.mojang.serialization.JsonOps;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 
+import dev.shadowsoffire.gateways.gate.spawn.SpawnPoint;
 import dev.shadowsoffire.placebo.codec.PlaceboCodecs;
 import net.minecraft.ChatFormatting;
 import net.minecraft.Util;
@@ -33,10 +34,13 @@ import net.minecraft.network.chat.MutableComponent;
  * @param spacing           The distance that this gateway must be from another Gateway.
  * @param followRangeBoost  Bonus value added to the follow range of all wave entities. Invisible to users.
  * @param defaultDropChance Default drop chance set for all slots on all wave entities. Invisible to users.
+ * @param spawnPoints       Fixed spawn positions, relative to the Gateway, used by the {@linkplain SpawnAlgorithms#SPAWN_POINTS spawn points algorithm}.
+ * @param waveEntityPushing If wave entities of this Gateway push each other. Pushing by players and other entities is unaffected.
  */
 public record GateRules(double spawnRange, double leashRange, boolean allowDiscarding,
     boolean allowDimChange, boolean playerDamageOnly, boolean removeOnFailure,
-    boolean failOnOutOfBounds, double spacing, double followRangeBoost, float defaultDropChance) {
+    boolean failOnOutOfBounds, double spacing, double followRangeBoost, float defaultDropChance,
+    List<SpawnPoint> spawnPoints, boolean waveEntityPushing) {
 
     public static final DecimalFormat FORMAT = Util.make(new DecimalFormat("#.#"), fmt -> fmt.setDecimalFormatSymbols(DecimalFormatSymbols.getInstance(Locale.ROOT)));
     public static final Codec<GateRules> CODEC = RecordCodecBuilder.create(inst -> inst
@@ -50,7 +54,9 @@ public record GateRules(double spawnRange, double leashRange, boolean allowDisca
             PlaceboCodecs.nullableField(Codec.BOOL, "fail_on_out_of_bounds", false).forGetter(GateRules::failOnOutOfBounds),
             PlaceboCodecs.nullableField(Codec.DOUBLE, "spacing", 0D).forGetter(GateRules::spacing),
             PlaceboCodecs.nullableField(Codec.DOUBLE, "follow_range_boost", 32D).forGetter(GateRules::followRangeBoost),
-            PlaceboCodecs.nullableField(Codec.FLOAT, "default_drop_chance", 0F).forGetter(GateRules::defaultDropChance))
+            PlaceboCodecs.nullableField(Codec.FLOAT, "default_drop_chance", 0F).forGetter(GateRules::defaultDropChance),
+            PlaceboCodecs.nullableField(SpawnPoint.CODEC.listOf(), "spawn_points", Collections.emptyList()).forGetter(GateRules::spawnPoints),
+            PlaceboCodecs.nullableField(Codec.BOOL, "wave_entity_pushing", true).forGetter(GateRules::waveEntityPushing))
         .apply(inst, GateRules::new));
     public static final GateRules DEFAULT = CODEC.decode(JsonOps.INSTANCE, new JsonObject()).get().left().get().getFirst();
 
@@ -68,6 +74,7 @@ public record GateRules(double spawnRange, double leashRange, boolean allowDisca
         append("remove_mobs_on_failure", list, this.removeOnFailure, DEFAULT.removeOnFailure);
         append("fail_on_out_of_bounds", list, this.failOnOutOfBounds, DEFAULT.failOnOutOfBounds);
         append("spacing", list, this.spacing, DEFAULT.spacing);
+        append("wave_entity_pushing", list, this.waveEntityPushing, DEFAULT.waveEntityPushing);
         return list;
     }
 
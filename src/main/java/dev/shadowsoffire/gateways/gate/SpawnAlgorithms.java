@@ -8,7 +8,11 @@ import com.mojang.serialization.Codec;
 
 import dev.shadowsoffire.gateways.Gateways;
 import dev.shadowsoffire.gateways.entity.GatewayEntity;
+import dev.shadowsoffire.gateways.gate.spawn.SpawnPointSelector;
+import dev.shadowsoffire.gateways.gate.spawn.SpawnSpacing;
+import dev.shadowsoffire.gateways.gate.spawn.SurfaceGrid;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.Entity;
@@ -33,21 +37,66 @@ public class SpawnAlgorithms {
          */
         @Nullable
         Vec3 spawn(ServerLevel level, Vec3 pos, GatewayEntity gate, Entity toSpawn);
+
+        /**
+         * If positions found by this algorithm may be remembered and reused by the Gateway's spawn site cache.
+         */
+        default boolean allowsSiteCache() {
+            return true;
+        }
+
+        /**
+         * If this algorithm selects positions from the Gateway's {@link SurfaceGrid}, in which case cells of a prepared grid may be used in its place.
+         */
+        default boolean usesSurfaceGrid() {
+            return false;
+        }
     }
 
     public static final SpawnAlgorithm OPEN_FIELD = SpawnAlgorithms::openField;
     public static final SpawnAlgorithm INWARD_SPIRAL = SpawnAlgorithms::inwardSpiral;
+    public static final SpawnAlgorithm DISTRIBUTED = SpawnAlgorithms::distributed;
+    public static final SpawnAlgorithm REACHABLE_SURFACE = new SpawnAlgorithm(){
+        @Override
+        public Vec3 spawn(ServerLevel level, Vec3 pos, GatewayEntity gate, Entity toSpawn) {
+            return reachableSurface(level, pos, gate, toSpawn);
+        }
+
+        @Override
+        public boolean usesSurfaceGrid() {
+            return true;
+        }
+    };
+    public static final SpawnAlgorithm SPAWN_POINTS = new SpawnAlgorithm(){
+        @Override
+        public Vec3 spawn(ServerLevel level, Vec3 pos, GatewayEntity gate, Entity toSpawn) {
+            return spawnPoints(level, pos, gate, toSpawn);
+        }
+
+        @Override
+        public boolean allowsSiteCache() {
+            return false;
+        }
+    };
 
     private static final BiMap<ResourceLocation, SpawnAlgorithm> NAMED_ALGORITHMS = HashBiMap.create();
 
     static {
         register(Gateways.loc("open_field"), OPEN_FIELD);
         register(Gateways.loc("inward_spiral"), INWARD_SPIRAL);
+        register(Gateways.loc("distributed"), DISTRIBUTED);
+        register(Gateways.loc("spawn_points"), SPAWN_POINTS);
+        register(Gateways.loc("reachable_surface"), REACHABLE_SURFACE);
     }
 
     public static final Codec<SpawnAlgorithm> CODEC = ResourceLocation.CODEC.xmap(NAMED_ALGORITHMS::get, NAMED_ALGORITHMS.inverse()::get);
     public static final int MAX_SPAWN_TRIES = 15;
 
+    /**
+     * Extra distance, in blocks, added to half of an entity's width when computing its exclusion radius for the {@link #DISTRIBUTED} algorithm.
+     */
+    public static final double SPACING_PADDING = 0.5;
+
     /**
      * The Open Field Algorithm selects random spawn positions within the spawn radius, and places entities on the ground.<br>
      * This algorithm will likely fail if the working area is not mostly empty.<br>
@@ -62,20 +111,8 @@ public class SpawnAlgorithms {
             double y = pos.y() + level.random.nextInt(3 * (int) gate.getGateway().size().getScale()) + 1;
             double z = pos.z() + (level.random.nextDouble() - level.random.nextDouble()) * spawnRange + 0.5D;
 
-            // Find the floor
-            while (level.getBlockState(BlockPos.containing(x, y - 1, z)).isAir() && y > level.getMinBuildHeight()) {
-                y--;
-            }
-
-            // Move up until we actually fit, to account for uneven floors with open space above them.
-            while (!noBlockCollision(level, getAABB(toSpawn, x, y, z))) {
-                y++;
-            }
-
-            // Skip spots that are outside the range
-            if (gate.distanceToSqr(x, y, z) > gate.getGateway().getLeashRangeSq()) continue;
-
-            if (noBlockCollision(level, getAABB(toSpawn, x, y, z))) return new Vec3(x, y, z);
+            Vec3 spawnPos = placeOnGround(level, gate, toSpawn, x, y, z);
+            if (spawnPos != null) return spawnPos;
         }
 
         return null;
@@ -98,25 +135,112 @@ public class SpawnAlgorithms {
             double y = pos.y() + scaleFactor * level.random.nextInt(3 * (int) gate.getGateway().size().getScale()) + 1;
             double z = pos.z() + scaleFactor * (level.random.nextDouble() - level.random.nextDouble()) * spawnRange + 0.5D;
 
-            // Find the floor
-            while (level.getBlockState(BlockPos.containing(x, y - 1, z)).isAir() && y > level.getMinBuildHeight()) {
-                y--;
-            }
+            Vec3 spawnPos = placeOnGround(level, gate, toSpawn, x, y, z);
+            if (spawnPos != null) return spawnPos;
+        }
+
+        return null;
+    }
+
+    /**
+     * The Distributed Algorithm selects spawn positions within the spawn radius like the Open Field Algorithm, but enforces a minimum spacing between all
+     * entities spawned during the current wave, derived from their sizes.<br>
+     * Each attempt that violates the spacing is remembered, and if no attempt satisfies it, the attempt with the most free space is used instead.<br>
+     * This produces an even (blue noise) distribution of wave entities, avoiding collision hotspots and cramming when a wave starts.
+     */
+    @Nullable
+    private static Vec3 distributed(ServerLevel level, Vec3 pos, GatewayEntity gate, Entity toSpawn) {
+        double spawnRange = gate.getBbWidth() / 2 + gate.getGateway().rules().spawnRange();
+        double radius = toSpawn.getBbWidth() / 2 + SPACING_PADDING;
+        SpawnSpacing spacing = gate.getSpawnSpacing();
+
+        Vec3 best = null;
+        double bestClearance = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < MAX_SPAWN_TRIES; i++) {
+            double x = pos.x() + (level.random.nextDouble() - level.random.nextDouble()) * spawnRange + 0.5D;
+            double y = pos.y() + level.random.nextInt(3 * (int) gate.getGateway().size().getScale()) + 1;
+            double z = pos.z() + (level.random.nextDouble() - level.random.nextDouble()) * spawnRange + 0.5D;
 
-            // Move up until we actually fit, to account for uneven floors with open space above them.
-            while (!noBlockCollision(level, getAABB(toSpawn, x, y, z))) {
-                y++;
+            Vec3 spawnPos = placeOnGround(level, gate, toSpawn, x, y, z);
+            if (spawnPos == null) continue;
+
+            double clearance = spacing.clearance(spawnPos.x, spawnPos.z, radius);
+            if (clearance > bestClearance) {
+                best = spawnPos;
+                bestClearance = clearance;
             }
+            if (clearance >= 0) break;
+        }
 
-            // Skip spots that are outside the range
-            if (gate.distanceToSqr(x, y, z) > gate.getGateway().getLeashRangeSq()) continue;
+        if (best != null) spacing.add(best.x, best.z, radius);
+        return best;
+    }
+
+    /**
+     * The Spawn Points Algorithm places entities on a fixed set of spawn points, which are gathered the first time the Gateway spawns an entity.<br>
+     * Spawn points come from the Gateway's {@linkplain GateRules#spawnPoints() rules}, marker blocks, and marker entities. See {@link SpawnPointSelector}.<br>
+     * Points are selected in weighted round-robin order and checked for collision once. If the selected point is obstructed, or there are no spawn points,
+     * the {@linkplain #OPEN_FIELD Open Field Algorithm} is used instead.
+     */
+    @Nullable
+    private static Vec3 spawnPoints(ServerLevel level, Vec3 pos, GatewayEntity gate, Entity toSpawn) {
+        Vec3 point = gate.getSpawnPoints().next();
+        if (point != null && isLoaded(level, point.x, point.z) && noBlockCollision(level, getAABB(toSpawn, point.x, point.y, point.z))) return point;
+        return OPEN_FIELD.spawn(level, pos, gate, toSpawn);
+    }
 
-            if (noBlockCollision(level, getAABB(toSpawn, x, y, z))) return new Vec3(x, y, z);
+    /**
+     * The Reachable Surface Algorithm selects spawn positions from a {@linkplain SurfaceGrid grid of standable cells} that are connected to the base of
+     * the Gateway and inside its leash range. The grid is built once per wave.<br>
+     * Entities placed by this algorithm can always walk to the Gateway, and will not be placed where they immediately fall out of range.<br>
+     * If no cell can fit the entity, or the Gateway has no floor, the {@linkplain #OPEN_FIELD Open Field Algorithm} is used instead.
+     */
+    @Nullable
+    private static Vec3 reachableSurface(ServerLevel level, Vec3 pos, GatewayEntity gate, Entity toSpawn) {
+        SurfaceGrid grid = gate.getSurfaceGrid();
+        for (int i = 0; i < MAX_SPAWN_TRIES && !grid.isEmpty(); i++) {
+            BlockPos cell = grid.sample(level.random);
+            double x = cell.getX() + 0.5D, y = cell.getY(), z = cell.getZ() + 0.5D;
+            if (isLoaded(level, x, z) && noBlockCollision(level, getAABB(toSpawn, x, y, z))) return new Vec3(x, y, z);
+        }
+        return OPEN_FIELD.spawn(level, pos, gate, toSpawn);
+    }
+
+    /**
+     * Moves a candidate spawn position down onto the floor, and then up until the entity fits.
+     *
+     * @return The adjusted position, or null if the adjusted position is outside the leash range or still obstructed.
+     */
+    @Nullable
+    public static Vec3 placeOnGround(ServerLevel level, GatewayEntity gate, Entity toSpawn, double x, double y, double z) {
+        // Never load chunks during spawn placement.
+        if (!isLoaded(level, x, z)) return null;
+
+        // Find the floor
+        while (level.getBlockState(BlockPos.containing(x, y - 1, z)).isAir() && y > level.getMinBuildHeight()) {
+            y--;
         }
 
+        // Move up until we actually fit, to account for uneven floors with open space above them.
+        while (!noBlockCollision(level, getAABB(toSpawn, x, y, z))) {
+            y++;
+        }
+
+        // Skip spots that are outside the range
+        if (gate.distanceToSqr(x, y, z) > gate.getGateway().getLeashRangeSq()) return null;
+
+        if (noBlockCollision(level, getAABB(toSpawn, x, y, z))) return new Vec3(x, y, z);
         return null;
     }
 
+    /**
+     * Checks if the chunk containing the given position is fully loaded, without loading it.<br>
+     * Spawn placement must skip positions in unloaded chunks, since reading blocks from them would load the chunk synchronously on the server thread.
+     */
+    public static boolean isLoaded(ServerLevel level, double x, double z) {
+        return level.getChunkSource().getChunkNow(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z)) != null;
+    }
+
     public static AABB getAABB(Entity e, double x, double y, double z) {
         return e.getDimensions(Pose.STANDING).makeBoundingBox(x, y, z);
     }
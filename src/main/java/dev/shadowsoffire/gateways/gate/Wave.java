@@ -97,7 +97,7 @@ public record Wave(List<WaveEntity> entities, List<WaveModifier> modifiers, List
         LivingEntity entity = waveEntity.createEntity(level);
         if (entity == null) return null;
 
-        Vec3 spawnPos = gate.getGateway().spawnAlgo().spawn(level, pos, gate, entity);
+        Vec3 spawnPos = gate.findSpawnPos(pos, entity);
         if (spawnPos == null) return null;
 
         entity.getPersistentData().putUUID("gateways.owner", gate.getUUID());
@@ -110,6 +110,9 @@ public record Wave(List<WaveEntity> entities, List<WaveModifier> modifiers, List
         });
 
         GateRules rules = gate.getGateway().rules();
+        if (!rules.waveEntityPushing()) {
+            entity.getPersistentData().putBoolean("gateways.no_push", true);
+        }
 
         if (entity instanceof Mob mob) {
             if (waveEntity.shouldFinalizeSpawn()) {
@@ -14,6 +14,7 @@ import dev.shadowsoffire.placebo.codec.CodecProvider;
 import dev.shadowsoffire.placebo.codec.PlaceboCodecs;
 import dev.shadowsoffire.placebo.json.NBTAdapter;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtOps;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.world.entity.Entity;
@@ -29,6 +30,7 @@ public interface WaveEntity extends CodecProvider<WaveEntity> {
 
     public static void initSerializers() {
         register("standard", StandardWaveEntity.CODEC);
+        register("horde", HordeWaveEntity.CODEC);
         CODEC.setDefaultCodec(StandardWaveEntity.CODEC);
     }
 
@@ -59,6 +61,20 @@ public interface WaveEntity extends CodecProvider<WaveEntity> {
      */
     public int getCount();
 
+    /**
+     * The number of mobs represented by each spawned entity. Only {@linkplain HordeWaveEntity hordes} represent more than one mob.
+     */
+    public default int getStackSize() {
+        return 1;
+    }
+
+    /**
+     * The total number of enemies this wave entity contributes to a wave.
+     */
+    public default int getEnemyCount() {
+        return this.getCount() * this.getStackSize();
+    }
+
     public static class StandardWaveEntity implements WaveEntity {
 
         public static Codec<StandardWaveEntity> CODEC = RecordCodecBuilder.create(inst -> inst
@@ -68,7 +84,8 @@ public interface WaveEntity extends CodecProvider<WaveEntity> {
                 PlaceboCodecs.nullableField(NBTAdapter.EITHER_CODEC, "nbt").forGetter(t -> Optional.of(t.tag)),
                 PlaceboCodecs.nullableField(WaveModifier.CODEC.listOf(), "modifiers", Collections.emptyList()).forGetter(t -> t.modifiers),
                 PlaceboCodecs.nullableField(Codec.BOOL, "finalize_spawn", true).forGetter(t -> t.finalizeSpawn),
-                PlaceboCodecs.nullableField(Codec.intRange(1, 256), "count", 1).forGetter(t -> t.count))
+                PlaceboCodecs.nullableField(Codec.intRange(1, 256), "count", 1).forGetter(t -> t.count),
+                PlaceboCodecs.nullableField(AiProfile.CODEC, "ai_profile", AiProfile.NONE).forGetter(t -> t.aiProfile))
             .apply(inst, StandardWaveEntity::new));
 
         protected final EntityType<?> type;
@@ -77,8 +94,9 @@ public interface WaveEntity extends CodecProvider<WaveEntity> {
         protected final List<WaveModifier> modifiers;
         protected final boolean finalizeSpawn;
         protected final int count;
+        protected final AiProfile aiProfile;
 
-        public StandardWaveEntity(EntityType<?> type, Optional<String> desc, Optional<CompoundTag> tag, List<WaveModifier> modifiers, boolean finalizeSpawn, int count) {
+        public StandardWaveEntity(EntityType<?> type, Optional<String> desc, Optional<CompoundTag> tag, List<WaveModifier> modifiers, boolean finalizeSpawn, int count, AiProfile aiProfile) {
             this.type = type;
             this.desc = desc.orElse(type.getDescriptionId());
             this.tag = tag.orElse(new CompoundTag());
@@ -86,6 +104,7 @@ public interface WaveEntity extends CodecProvider<WaveEntity> {
             this.modifiers = modifiers;
             this.finalizeSpawn = finalizeSpawn;
             this.count = count;
+            this.aiProfile = aiProfile;
         }
 
         @Override
@@ -93,6 +112,10 @@ public interface WaveEntity extends CodecProvider<WaveEntity> {
             Entity ent = EntityType.loadEntityRecursive(this.tag, level, Function.identity());
             if (ent instanceof LivingEntity living) {
                 this.modifiers.forEach(m -> m.apply(living));
+                if (this.aiProfile != AiProfile.NONE) {
+                    // The profile is applied when the entity joins the level, and reapplied whenever it is loaded, since goals are not saved.
+                    AiProfile.CODEC.encodeStart(NbtOps.INSTANCE, this.aiProfile).result().ifPresent(t -> living.getPersistentData().put(AiProfile.TAG, t));
+                }
                 return living;
             }
             return null;
@@ -120,4 +143,117 @@ public interface WaveEntity extends CodecProvider<WaveEntity> {
 
     }
 
+    /**
+     * A horde is a stack of identical mobs represented by a single real entity.
+     * <p>
+     * Damage is pooled across the stack. When the entity would die with more than one mob left in the stack, the stack is decremented and the entity is
+     * healed instead. Drops and experience from the final death are multiplied by the size of the horde. The remaining stack is shown in the name of the
+     * entity.
+     */
+    public static class HordeWaveEntity extends StandardWaveEntity {
+
+        public static final String STACK = "gateways.stack";
+        public static final String HORDE_SIZE = "gateways.horde_size";
+        public static final String BASE_NAME = "gateways.horde_name";
+
+        public static Codec<HordeWaveEntity> CODEC = RecordCodecBuilder.create(inst -> inst
+            .group(
+                ForgeRegistries.ENTITY_TYPES.getCodec().fieldOf("entity").forGetter(t -> t.type),
+                PlaceboCodecs.nullableField(Codec.STRING, "desc").forGetter(t -> Optional.of(t.desc)),
+                PlaceboCodecs.nullableField(NBTAdapter.EITHER_CODEC, "nbt").forGetter(t -> Optional.of(t.tag)),
+                PlaceboCodecs.nullableField(WaveModifier.CODEC.listOf(), "modifiers", Collections.emptyList()).forGetter(t -> t.modifiers),
+                PlaceboCodecs.nullableField(Codec.BOOL, "finalize_spawn", true).forGetter(t -> t.finalizeSpawn),
+                PlaceboCodecs.nullableField(Codec.intRange(1, 256), "count", 1).forGetter(t -> t.count),
+                PlaceboCodecs.nullableField(AiProfile.CODEC, "ai_profile", AiProfile.NONE).forGetter(t -> t.aiProfile),
+                Codec.intRange(1, 1024).fieldOf("stack_size").forGetter(t -> t.stackSize))
+            .apply(inst, HordeWaveEntity::new));
+
+        protected final int stackSize;
+
+        public HordeWaveEntity(EntityType<?> type, Optional<String> desc, Optional<CompoundTag> tag, List<WaveModifier> modifiers, boolean finalizeSpawn, int count, AiProfile aiProfile, int stackSize) {
+            super(type, desc, tag, modifiers, finalizeSpawn, count, aiProfile);
+            this.stackSize = stackSize;
+        }
+
+        @Override
+        public LivingEntity createEntity(Level level) {
+            LivingEntity living = super.createEntity(level);
+            if (living != null) {
+                CompoundTag data = living.getPersistentData();
+                data.putInt(STACK, this.stackSize);
+                data.putInt(HORDE_SIZE, this.stackSize);
+                data.putString(BASE_NAME, Component.Serializer.toJson(living.getName()));
+                updateName(living);
+            }
+            return living;
+        }
+
+        @Override
+        public MutableComponent getDescription() {
+            return Component.translatable("tooltip.gateways.with_count", getEnemyCount(), Component.translatable(this.desc));
+        }
+
+        @Override
+        public int getStackSize() {
+            return this.stackSize;
+        }
+
+        @Override
+        public Codec<? extends WaveEntity> getCodec() {
+            return CODEC;
+        }
+
+        /**
+         * Returns the number of mobs remaining in the stack of an entity, which is 1 for entities that are not hordes.
+         */
+        public static int getStack(Entity entity) {
+            CompoundTag data = entity.getPersistentData();
+            return data.contains(STACK) ? Math.max(1, data.getInt(STACK)) : 1;
+        }
+
+        /**
+         * Returns the number of mobs a horde entity started with, which is 1 for entities that are not hordes.
+         */
+        public static int getHordeSize(Entity entity) {
+            CompoundTag data = entity.getPersistentData();
+            return data.contains(HORDE_SIZE) ? Math.max(1, data.getInt(HORDE_SIZE)) : 1;
+        }
+
+        /**
+         * Applies damage to a horde entity, removing one mob from the stack for each time the damage would have killed the entity.
+         *
+         * @param entity The horde entity.
+         * @param amount The damage being dealt.
+         * @return The damage remaining after depleting the stack, which should be dealt to the entity as usual.
+         */
+        public static float absorbDamage(LivingEntity entity, float amount) {
+            int stack = getStack(entity);
+            if (stack <= 1) return amount;
+            float health = entity.getHealth();
+            float max = entity.getMaxHealth();
+            while (stack > 1 && amount >= health) {
+                amount -= health;
+                health = max;
+                stack--;
+            }
+            if (stack != getStack(entity)) {
+                entity.getPersistentData().putInt(STACK, stack);
+                entity.setHealth(health);
+                updateName(entity);
+            }
+            return amount;
+        }
+
+        /**
+         * Updates the name of a horde entity to show its remaining stack.
+         */
+        public static void updateName(LivingEntity entity) {
+            CompoundTag data = entity.getPersistentData();
+            Component base = data.contains(BASE_NAME) ? Component.Serializer.fromJson(data.getString(BASE_NAME)) : entity.getType().getDescription();
+            entity.setCustomName(Component.translatable("name.gateways.horde", base, getStack(entity)));
+            entity.setCustomNameVisible(true);
+        }
+
+    }
+
 }
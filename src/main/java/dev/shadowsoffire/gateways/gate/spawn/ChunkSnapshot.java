@@ -0,0 +1,101 @@
+package dev.shadowsoffire.gateways.gate.spawn;
+
+import javax.annotation.Nullable;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * A read-only copy of the block states in the chunk sections around a position, which may be safely read from worker threads.
+ * <p>
+ * Blocks in chunks that were not loaded when the snapshot was captured read as {@link Blocks#VOID_AIR}. Block entities are not captured.
+ */
+public class ChunkSnapshot implements BlockGetter {
+
+    protected final Long2ObjectMap<PalettedContainer<BlockState>> sections = new Long2ObjectOpenHashMap<>();
+    protected final LongSet chunks = new LongOpenHashSet();
+    protected final int minBuildHeight, height;
+
+    protected ChunkSnapshot(int minBuildHeight, int height) {
+        this.minBuildHeight = minBuildHeight;
+        this.height = height;
+    }
+
+    /**
+     * Captures all loaded chunk sections within a cube around the center. Must be called from the server thread.
+     *
+     * @param level  The level to capture.
+     * @param center The center of the captured area.
+     * @param radius The half side length of the captured area, in blocks.
+     */
+    public static ChunkSnapshot capture(ServerLevel level, Vec3 center, double radius) {
+        ChunkSnapshot snapshot = new ChunkSnapshot(level.getMinBuildHeight(), level.getHeight());
+        int minX = SectionPos.blockToSectionCoord(center.x - radius), maxX = SectionPos.blockToSectionCoord(center.x + radius);
+        int minY = Math.max(level.getMinSection(), SectionPos.blockToSectionCoord(center.y - radius));
+        int maxY = Math.min(level.getMaxSection() - 1, SectionPos.blockToSectionCoord(center.y + radius));
+        int minZ = SectionPos.blockToSectionCoord(center.z - radius), maxZ = SectionPos.blockToSectionCoord(center.z + radius);
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(x, z);
+                if (chunk == null) continue;
+                snapshot.chunks.add(ChunkPos.asLong(x, z));
+                for (int y = minY; y <= maxY; y++) {
+                    LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(y));
+                    if (section.hasOnlyAir()) continue;
+                    snapshot.sections.put(SectionPos.asLong(x, y, z), section.getStates().copy());
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        if (this.isOutsideBuildHeight(pos)) return Blocks.VOID_AIR.defaultBlockState();
+        int x = pos.getX(), y = pos.getY(), z = pos.getZ();
+        PalettedContainer<BlockState> states = this.sections.get(SectionPos.asLong(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(y), SectionPos.blockToSectionCoord(z)));
+        if (states == null) {
+            boolean loaded = this.chunks.contains(ChunkPos.asLong(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z)));
+            return loaded ? Blocks.AIR.defaultBlockState() : Blocks.VOID_AIR.defaultBlockState();
+        }
+        return states.get(x & 15, y & 15, z & 15);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return this.getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    @Nullable
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return this.minBuildHeight;
+    }
+
+}
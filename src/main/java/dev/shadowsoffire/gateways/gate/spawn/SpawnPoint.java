@@ -0,0 +1,24 @@
+package dev.shadowsoffire.gateways.gate.spawn;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+import dev.shadowsoffire.placebo.codec.PlaceboCodecs;
+import net.minecraft.core.BlockPos;
+
+/**
+ * A fixed spawn position declared in a Gateway's rules, for use by the {@linkplain dev.shadowsoffire.gateways.gate.SpawnAlgorithms#SPAWN_POINTS spawn
+ * points algorithm}.
+ *
+ * @param offset The offset of the spawn position from the block position of the Gateway.
+ * @param weight The relative share of wave entities that will be placed at this position.
+ */
+public record SpawnPoint(BlockPos offset, int weight) {
+
+    public static Codec<SpawnPoint> CODEC = RecordCodecBuilder.create(inst -> inst
+        .group(
+            BlockPos.CODEC.fieldOf("offset").forGetter(SpawnPoint::offset),
+            PlaceboCodecs.nullableField(Codec.intRange(1, 1024), "weight", 1).forGetter(SpawnPoint::weight))
+        .apply(inst, SpawnPoint::new));
+
+}
@@ -0,0 +1,99 @@
+package dev.shadowsoffire.gateways.gate.spawn;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import dev.shadowsoffire.gateways.Gateways;
+import dev.shadowsoffire.gateways.entity.GatewayEntity;
+import dev.shadowsoffire.gateways.gate.SpawnAlgorithms;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Holds the resolved spawn points of a Gateway, and distributes wave entities between them using smooth weighted round-robin.
+ * <p>
+ * Spawn points are gathered once, from the following sources:
+ * <ul>
+ * <li>The {@linkplain dev.shadowsoffire.gateways.gate.GateRules#spawnPoints() spawn points} declared in the Gateway's rules.</li>
+ * <li>Blocks in the {@link #MARKER_BLOCKS} tag within the spawn range. Entities are placed on top of the block.</li>
+ * <li>Entities with the {@link #MARKER_TAG} scoreboard tag within the spawn range.</li>
+ * </ul>
+ */
+public class SpawnPointSelector {
+
+    public static final TagKey<Block> MARKER_BLOCKS = TagKey.create(Registries.BLOCK, Gateways.loc("spawn_markers"));
+    public static final String MARKER_TAG = "gateways.spawn_point";
+
+    protected final List<Vec3> points = new ArrayList<>();
+    protected int[] weights = new int[0];
+    protected int[] current = new int[0];
+    protected int totalWeight = 0;
+    protected boolean scanned = false;
+
+    /**
+     * Collects all spawn points for the gateway. Subsequent calls do nothing.
+     */
+    public void scan(ServerLevel level, GatewayEntity gate) {
+        if (this.scanned) return;
+        this.scanned = true;
+
+        List<Integer> weights = new ArrayList<>();
+        BlockPos origin = gate.blockPosition();
+        gate.getGateway().rules().spawnPoints().forEach(p -> {
+            this.points.add(Vec3.atBottomCenterOf(origin.offset(p.offset())));
+            weights.add(p.weight());
+        });
+
+        AABB area = gate.getBoundingBox().inflate(gate.getGateway().rules().spawnRange());
+
+        if (BuiltInRegistries.BLOCK.getTagOrEmpty(MARKER_BLOCKS).iterator().hasNext()) {
+            for (BlockPos pos : BlockPos.betweenClosed(BlockPos.containing(area.minX, area.minY, area.minZ), BlockPos.containing(area.maxX, area.maxY, area.maxZ))) {
+                if (SpawnAlgorithms.isLoaded(level, pos.getX(), pos.getZ()) && level.getBlockState(pos).is(MARKER_BLOCKS)) {
+                    this.points.add(Vec3.atBottomCenterOf(pos.above()));
+                    weights.add(1);
+                }
+            }
+        }
+
+        for (Entity marker : level.getEntities((Entity) null, area, e -> e.getTags().contains(MARKER_TAG))) {
+            this.points.add(marker.position());
+            weights.add(1);
+        }
+
+        this.weights = weights.stream().mapToInt(Integer::intValue).toArray();
+        this.current = new int[this.weights.length];
+        this.totalWeight = weights.stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Selects the next spawn point. Over any window of total weight selections, each point is chosen in proportion to its weight, and selections of the
+     * same point are spread out as evenly as possible.
+     *
+     * @return The next spawn point, or null if the gateway has no spawn points.
+     */
+    @Nullable
+    public Vec3 next() {
+        if (this.points.isEmpty()) return null;
+        int best = 0;
+        for (int i = 0; i < this.current.length; i++) {
+            this.current[i] += this.weights[i];
+            if (this.current[i] > this.current[best]) best = i;
+        }
+        this.current[best] -= this.totalWeight;
+        return this.points.get(best);
+    }
+
+    public boolean isScanned() {
+        return this.scanned;
+    }
+
+}
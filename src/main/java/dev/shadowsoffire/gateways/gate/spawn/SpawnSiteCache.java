@@ -0,0 +1,144 @@
+package dev.shadowsoffire.gateways.gate.spawn;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import dev.shadowsoffire.gateways.entity.GatewayEntity;
+import dev.shadowsoffire.gateways.gate.SpawnAlgorithms;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.DoubleTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityDimensions;
+import net.minecraft.world.entity.Pose;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * A bounded, per-gateway cache of spawn positions that were recently used successfully, grouped by the size of the entity that was placed there.
+ * <p>
+ * Spawn placement tries cached sites before running the spawn algorithm, which saves the algorithm from repeatedly discarding blocked candidates in
+ * cluttered arenas. Each site is used at most once per wave, and is re-validated against the world before use.
+ */
+public class SpawnSiteCache {
+
+    /**
+     * The maximum number of sites remembered for each size class.
+     */
+    public static final int MAX_SITES = 16;
+
+    protected final Int2ObjectMap<Deque<Vec3>> sites = new Int2ObjectOpenHashMap<>();
+    protected final Set<Vec3> usedThisWave = new HashSet<>();
+
+    /**
+     * Attempts to reuse a cached spawn site for the given entity.
+     * <p>
+     * Sites that fail validation are evicted from the cache.
+     *
+     * @param level   The level the entity will be spawned in.
+     * @param gate    The controlling Gateway entity.
+     * @param toSpawn The wave entity being spawned.
+     * @return A valid spawn position, or null if no cached site could be used.
+     */
+    @Nullable
+    public Vec3 poll(ServerLevel level, GatewayEntity gate, Entity toSpawn) {
+        Deque<Vec3> cached = this.sites.get(sizeClass(toSpawn));
+        if (cached == null) return null;
+
+        SpawnSpacing spacing = gate.getSpawnSpacing();
+        double radius = toSpawn.getBbWidth() / 2 + SpawnAlgorithms.SPACING_PADDING;
+        Iterator<Vec3> it = cached.iterator();
+        while (it.hasNext()) {
+            Vec3 site = it.next();
+            if (this.usedThisWave.contains(site)) continue;
+            if (!isValid(level, gate, toSpawn, site)) {
+                it.remove();
+                continue;
+            }
+            if (spacing.clearance(site.x, site.z, radius) < 0) continue;
+            this.usedThisWave.add(site);
+            return site;
+        }
+        return null;
+    }
+
+    /**
+     * Records a spawn position that was successfully used for the given entity, making it the first site tried for entities of the same size.
+     */
+    public void record(Entity toSpawn, Vec3 pos) {
+        Deque<Vec3> cached = this.sites.computeIfAbsent(sizeClass(toSpawn), k -> new ArrayDeque<>());
+        cached.remove(pos);
+        cached.addFirst(pos);
+        while (cached.size() > MAX_SITES) {
+            cached.removeLast();
+        }
+        this.usedThisWave.add(pos);
+    }
+
+    /**
+     * Marks all cached sites as available again. Called at the start of each wave.
+     */
+    public void startWave() {
+        this.usedThisWave.clear();
+    }
+
+    public ListTag save() {
+        ListTag list = new ListTag();
+        for (Int2ObjectMap.Entry<Deque<Vec3>> entry : this.sites.int2ObjectEntrySet()) {
+            CompoundTag tag = new CompoundTag();
+            tag.putInt("size", entry.getIntKey());
+            ListTag coords = new ListTag();
+            for (Vec3 site : entry.getValue()) {
+                coords.add(DoubleTag.valueOf(site.x));
+                coords.add(DoubleTag.valueOf(site.y));
+                coords.add(DoubleTag.valueOf(site.z));
+            }
+            tag.put("sites", coords);
+            list.add(tag);
+        }
+        return list;
+    }
+
+    public void load(ListTag list) {
+        this.sites.clear();
+        this.usedThisWave.clear();
+        for (Tag t : list) {
+            CompoundTag tag = (CompoundTag) t;
+            ListTag coords = tag.getList("sites", Tag.TAG_DOUBLE);
+            Deque<Vec3> cached = new ArrayDeque<>();
+            for (int i = 0; i + 2 < coords.size() && cached.size() < MAX_SITES; i += 3) {
+                cached.addLast(new Vec3(coords.getDouble(i), coords.getDouble(i + 1), coords.getDouble(i + 2)));
+            }
+            if (!cached.isEmpty()) this.sites.put(tag.getInt("size"), cached);
+        }
+    }
+
+    /**
+     * Cheaply re-validates a cached site: it must still be inside the leash range and in a loaded chunk, have a floor beneath it, and fit the entity.
+     */
+    protected static boolean isValid(ServerLevel level, GatewayEntity gate, Entity toSpawn, Vec3 site) {
+        if (gate.distanceToSqr(site) > gate.getGateway().getLeashRangeSq()) return false;
+        if (!SpawnAlgorithms.isLoaded(level, site.x, site.z)) return false;
+        if (level.getBlockState(BlockPos.containing(site.x, site.y - 1, site.z)).isAir()) return false;
+        return SpawnAlgorithms.noBlockCollision(level, SpawnAlgorithms.getAABB(toSpawn, site.x, site.y, site.z));
+    }
+
+    /**
+     * Groups entities by their standing dimensions, rounded up to the nearest half block.
+     */
+    public static int sizeClass(Entity entity) {
+        EntityDimensions dims = entity.getDimensions(Pose.STANDING);
+        return Mth.ceil(dims.width * 2) << 16 | Mth.ceil(dims.height * 2);
+    }
+
+}
@@ -0,0 +1,84 @@
+package dev.shadowsoffire.gateways.gate.spawn;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
+
+/**
+ * A spatial hash of the spawn positions that have been chosen by a Gateway during the current wave.
+ * <p>
+ * Used by the {@linkplain dev.shadowsoffire.gateways.gate.SpawnAlgorithms#DISTRIBUTED distributed algorithm} to enforce a minimum horizontal spacing
+ * between wave entities, so that large waves do not pile up inside the same few blocks.
+ */
+public class SpawnSpacing {
+
+    /**
+     * The side length, in blocks, of a single cell of the hash.
+     */
+    public static final double CELL_SIZE = 2;
+
+    protected final Long2ObjectMap<List<Point>> cells = new Long2ObjectOpenHashMap<>();
+    protected double maxRadius = 0;
+
+    /**
+     * Records a chosen spawn position.
+     *
+     * @param x      The x coordinate of the spawn position.
+     * @param z      The z coordinate of the spawn position.
+     * @param radius The exclusion radius of the entity placed at this position.
+     */
+    public void add(double x, double z, double radius) {
+        this.cells.computeIfAbsent(key(cell(x), cell(z)), k -> new ArrayList<>()).add(new Point(x, z, radius));
+        this.maxRadius = Math.max(this.maxRadius, radius);
+    }
+
+    /**
+     * Computes how much free space a candidate position has relative to all recorded positions.
+     *
+     * @param x      The x coordinate of the candidate.
+     * @param z      The z coordinate of the candidate.
+     * @param radius The exclusion radius of the entity being placed.
+     * @return The smallest gap between the exclusion radius of the candidate and any recorded position.<br>
+     *         Non-negative values mean the candidate satisfies the minimum spacing. If nothing has been recorded nearby, {@link Double#MAX_VALUE} is returned.
+     */
+    public double clearance(double x, double z, double radius) {
+        int range = Mth.ceil((radius + this.maxRadius) / CELL_SIZE);
+        int cx = cell(x), cz = cell(z);
+        double clearance = Double.MAX_VALUE;
+        for (int i = -range; i <= range; i++) {
+            for (int j = -range; j <= range; j++) {
+                List<Point> points = this.cells.get(key(cx + i, cz + j));
+                if (points == null) continue;
+                for (Point p : points) {
+                    double dx = p.x - x, dz = p.z - z;
+                    clearance = Math.min(clearance, Math.sqrt(dx * dx + dz * dz) - radius - p.radius);
+                }
+            }
+        }
+        return clearance;
+    }
+
+    public boolean isEmpty() {
+        return this.cells.isEmpty();
+    }
+
+    public void clear() {
+        this.cells.clear();
+        this.maxRadius = 0;
+    }
+
+    protected static int cell(double coord) {
+        return Mth.floor(coord / CELL_SIZE);
+    }
+
+    protected static long key(int x, int z) {
+        return ChunkPos.asLong(x, z);
+    }
+
+    protected static record Point(double x, double z, double radius) {}
+
+}
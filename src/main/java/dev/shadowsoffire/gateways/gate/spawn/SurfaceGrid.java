@@ -0,0 +1,161 @@
+package dev.shadowsoffire.gateways.gate.spawn;
+
+import javax.annotation.Nullable;
+
+import dev.shadowsoffire.gateways.gate.SpawnAlgorithms;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * A flood-filled grid of standable cells around a Gateway.
+ * <p>
+ * A cell is the block position of an entity's feet. It is standable if the block below it has a collision shape, and the cell and the block above it
+ * are free of collision shapes and fluids. Cells are connected if they are horizontally adjacent and differ in height by at most {@link #MAX_STEP_UP}
+ * upwards or {@link #MAX_DROP} downwards, which is the movement a typical ground mob can make.
+ * <p>
+ * Only cells reachable from the base of the Gateway and within its leash range are part of the grid. When built against a live level, cells in
+ * unloaded chunks are skipped rather than loaded.
+ */
+public class SurfaceGrid {
+
+    public static final SurfaceGrid EMPTY = new SurfaceGrid(new LongArrayList(), new LongArrayList());
+
+    /**
+     * The maximum number of cells visited by the flood fill.
+     */
+    public static final int MAX_CELLS = 16384;
+    public static final int MAX_STEP_UP = 1;
+    public static final int MAX_DROP = 3;
+
+    protected final LongList cells;
+    protected final LongList spawnable;
+    @Nullable
+    protected LongSet index;
+
+    protected SurfaceGrid(LongList cells, LongList spawnable) {
+        this.cells = cells;
+        this.spawnable = spawnable;
+    }
+
+    /**
+     * Builds the grid of standable cells connected to the base of a Gateway.
+     *
+     * @param level      The level, or a snapshot of the level.
+     * @param center     The position of the Gateway.
+     * @param leashRange The leash range of the Gateway. Cells further than this from the center are excluded.
+     * @param spawnRange The horizontal radius around the center in which cells may be {@linkplain #sample sampled}.
+     * @return The grid, which is {@link #EMPTY} if the Gateway has no floor beneath it.
+     */
+    public static SurfaceGrid build(BlockGetter level, Vec3 center, double leashRange, double spawnRange) {
+        BlockPos base = findBase(level, BlockPos.containing(center), (int) leashRange);
+        if (base == null) return EMPTY;
+
+        double leashSq = leashRange * leashRange;
+        double spawnSq = spawnRange * spawnRange;
+        LongList cells = new LongArrayList();
+        LongList spawnable = new LongArrayList();
+        LongSet visited = new LongOpenHashSet();
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        BlockPos.MutableBlockPos mPos = new BlockPos.MutableBlockPos();
+
+        visited.add(base.asLong());
+        queue.enqueue(base.asLong());
+        while (!queue.isEmpty() && cells.size() < MAX_CELLS) {
+            long cell = queue.dequeueLong();
+            cells.add(cell);
+            int x = BlockPos.getX(cell), y = BlockPos.getY(cell), z = BlockPos.getZ(cell);
+            double dx = x + 0.5 - center.x, dz = z + 0.5 - center.z;
+            if (dx * dx + dz * dz <= spawnSq) spawnable.add(cell);
+
+            for (Direction dir : Direction.Plane.HORIZONTAL) {
+                int nx = x + dir.getStepX(), nz = z + dir.getStepZ();
+                if (level instanceof ServerLevel sl && !SpawnAlgorithms.isLoaded(sl, nx, nz)) continue;
+                for (int dy = MAX_STEP_UP; dy >= -MAX_DROP; dy--) {
+                    mPos.set(nx, y + dy, nz);
+                    if (isStandable(level, mPos)) {
+                        long next = mPos.asLong();
+                        if (center.distanceToSqr(nx + 0.5, y + dy, nz + 0.5) <= leashSq && visited.add(next)) {
+                            queue.enqueue(next);
+                        }
+                        break;
+                    }
+                    // Stop looking further down once the column is blocked, since the mob could not drop through it.
+                    if (dy <= 0 && !isFree(level, mPos)) break;
+                }
+            }
+        }
+
+        return new SurfaceGrid(cells, spawnable);
+    }
+
+    /**
+     * Selects a random standable cell within the spawn range, or anywhere in the grid if no cell is within the spawn range.
+     *
+     * @return The feet position of the selected cell, or null if the grid is empty.
+     */
+    @Nullable
+    public BlockPos sample(RandomSource rand) {
+        LongList source = this.spawnable.isEmpty() ? this.cells : this.spawnable;
+        if (source.isEmpty()) return null;
+        return BlockPos.of(source.getLong(rand.nextInt(source.size())));
+    }
+
+    public boolean isEmpty() {
+        return this.cells.isEmpty();
+    }
+
+    public int size() {
+        return this.cells.size();
+    }
+
+    /**
+     * Returns all cells of the grid, as packed block positions.
+     */
+    public LongList getCells() {
+        return this.cells;
+    }
+
+    /**
+     * Checks if the given packed block position is a cell of this grid. Must only be called from the server thread.
+     */
+    public boolean contains(long cell) {
+        if (this.index == null) this.index = new LongOpenHashSet(this.cells);
+        return this.index.contains(cell);
+    }
+
+    public static boolean isStandable(BlockGetter level, BlockPos pos) {
+        BlockPos below = pos.below();
+        BlockState floor = level.getBlockState(below);
+        if (floor.getCollisionShape(level, below).isEmpty()) return false;
+        return isFree(level, pos) && isFree(level, pos.above());
+    }
+
+    protected static boolean isFree(BlockGetter level, BlockPos pos) {
+        BlockState state = level.getBlockState(pos);
+        return state.getCollisionShape(level, pos).isEmpty() && state.getFluidState().isEmpty();
+    }
+
+    /**
+     * Finds the first standable cell at or below the given position, searching up to a few blocks above it first to account for uneven ground.
+     */
+    @Nullable
+    protected static BlockPos findBase(BlockGetter level, BlockPos start, int maxDepth) {
+        BlockPos.MutableBlockPos mPos = start.mutable().move(Direction.UP, MAX_STEP_UP);
+        for (int i = 0; i < maxDepth + MAX_STEP_UP && mPos.getY() > level.getMinBuildHeight(); i++) {
+            if (isStandable(level, mPos)) return mPos.immutable();
+            mPos.move(Direction.DOWN);
+        }
+        return null;
+    }
+
+}
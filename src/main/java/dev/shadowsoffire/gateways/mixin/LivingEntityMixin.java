@@ -0,0 +1,27 @@
+package dev.shadowsoffire.gateways.mixin;
+
+import java.util.function.Predicate;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.ModifyArg;
+
+import dev.shadowsoffire.gateways.entity.GatewayEntity;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+
+@Mixin(LivingEntity.class)
+public class LivingEntityMixin {
+
+    /**
+     * Excludes wave entities of the same Gateway from the entities pushed by a wave entity, when the Gateway has disabled wave entity pushing.<br>
+     * Since they are excluded from the list, they also no longer count towards entity cramming.
+     */
+    @ModifyArg(at = @At(value = "INVOKE", target = "Lnet/minecraft/world/level/Level;getEntities(Lnet/minecraft/world/entity/Entity;Lnet/minecraft/world/phys/AABB;Ljava/util/function/Predicate;)Ljava/util/List;"), method = "pushEntities()V", index = 2, require = 1)
+    private Predicate<Entity> gateways_ignoreWavePushing(Predicate<Entity> predicate) {
+        LivingEntity self = (LivingEntity) (Object) this;
+        if (!self.getPersistentData().getBoolean("gateways.no_push")) return predicate;
+        return predicate.and(other -> !GatewayEntity.ignoresPushFrom(self, other));
+    }
+
+}
@@ -0,0 +1,34 @@
+package dev.shadowsoffire.gateways.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+import dev.shadowsoffire.gateways.entity.ai.AiLodController;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.goal.GoalSelector;
+
+@Mixin(Mob.class)
+public class MobMixin implements AiLodController.GoalRateHolder {
+
+    @Unique
+    private int gateways_goalRate = AiLodController.DEFAULT_GOAL_RATE;
+
+    /**
+     * Replaces the full goal and target selector ticks (which attempt to start new goals) with a tick of only the running goals, when the mob's
+     * {@linkplain AiLodController goal rate} says it should not attempt to start new goals this tick.
+     */
+    @Redirect(at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/ai/goal/GoalSelector;tick()V"), method = "serverAiStep()V", require = 2)
+    private void gateways_throttleGoals(GoalSelector selector) {
+        Mob self = (Mob) (Object) this;
+        if (AiLodController.shouldUpdateGoals(self, this.gateways_goalRate)) selector.tick();
+        else selector.tickRunningGoals(false);
+    }
+
+    @Override
+    public void gateways_setGoalRate(int rate) {
+        this.gateways_goalRate = rate;
+    }
+
+}
@@ -0,0 +1,68 @@
+package dev.shadowsoffire.gateways.net;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import dev.shadowsoffire.gateways.client.GatewayHud;
+import dev.shadowsoffire.placebo.network.MessageHelper;
+import dev.shadowsoffire.placebo.network.MessageProvider;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkEvent.Context;
+
+/**
+ * Registers or removes the link between a Gateway's boss event and the Gateway entity on the client, so that the client can draw the Gateway's HUD in
+ * place of the boss bar.
+ * <p>
+ * Registration is sent before the player is added to the boss event, so the link is known before the boss bar is first drawn.
+ */
+public class BossHudMessage {
+
+    public UUID bossId;
+    public int gateId;
+    public boolean register;
+
+    public BossHudMessage(UUID bossId, int gateId, boolean register) {
+        this.bossId = bossId;
+        this.gateId = gateId;
+        this.register = register;
+    }
+
+    public static class Provider implements MessageProvider<BossHudMessage> {
+
+        @Override
+        public Class<BossHudMessage> getMsgClass() {
+            return BossHudMessage.class;
+        }
+
+        @Override
+        public BossHudMessage read(FriendlyByteBuf buf) {
+            UUID bossId = buf.readUUID();
+            int gateId = buf.readVarInt();
+            boolean register = buf.readBoolean();
+            return new BossHudMessage(bossId, gateId, register);
+        }
+
+        @Override
+        public void write(BossHudMessage msg, FriendlyByteBuf buf) {
+            buf.writeUUID(msg.bossId);
+            buf.writeVarInt(msg.gateId);
+            buf.writeBoolean(msg.register);
+        }
+
+        @Override
+        public void handle(BossHudMessage msg, Supplier<Context> ctx) {
+            MessageHelper.handlePacket(() -> {
+                GatewayHud.handle(msg);
+            }, ctx);
+        }
+
+        @Override
+        public Optional<NetworkDirection> getNetworkDirection() {
+            return Optional.of(NetworkDirection.PLAY_TO_CLIENT);
+        }
+
+    }
+
+}
@@ -1,5 +1,7 @@
 package dev.shadowsoffire.gateways.net;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -8,37 +10,59 @@ import dev.shadowsoffire.gateways.entity.GatewayEntity;
 import dev.shadowsoffire.placebo.network.MessageHelper;
 import dev.shadowsoffire.placebo.network.MessageProvider;
 import net.minecraft.network.FriendlyByteBuf;
-import net.minecraft.network.chat.TextColor;
+import net.minecraft.util.Mth;
 import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkEvent.Context;
 
+/**
+ * A batch of particle events emitted by a single Gateway during one tick.
+ * <p>
+ * Positions are sent as offsets from the Gateway, quantized to 1/{@link #PRECISION} of a block and stored in shorts. The particle color is not sent,
+ * as the client reads it from the Gateway.
+ */
 public class ParticleMessage {
 
+    /**
+     * The number of quantization steps per block. Offsets of up to 1024 blocks from the Gateway can be represented.
+     */
+    public static final float PRECISION = 32;
+
     public int gateId;
-    public double x, y, z;
-    public Type type;
-    public int color;
+    public List<Entry> entries;
 
-    public ParticleMessage(GatewayEntity source, double x, double y, double z, TextColor color, Type type) {
-        this(source.getId(), x, y, z, color.getValue(), type);
+    public ParticleMessage(int id, List<Entry> entries) {
+        this.gateId = id;
+        this.entries = entries;
     }
 
-    public ParticleMessage(int id, double x, double y, double z, int color, Type type) {
-        this.gateId = id;
-        this.x = x;
-        this.y = y;
-        this.z = z;
-        this.color = color;
-        this.type = type;
+    /**
+     * A single particle event, relative to the Gateway that emitted it.
+     */
+    public static record Entry(Type type, short x, short y, short z) {
+
+        public static Entry create(GatewayEntity source, double x, double y, double z, Type type) {
+            return new Entry(type, quantize(x - source.getX()), quantize(y - source.getY()), quantize(z - source.getZ()));
+        }
+
+        public double getX(GatewayEntity source) {
+            return source.getX() + this.x / PRECISION;
+        }
+
+        public double getY(GatewayEntity source) {
+            return source.getY() + this.y / PRECISION;
+        }
+
+        public double getZ(GatewayEntity source) {
+            return source.getZ() + this.z / PRECISION;
+        }
+
+        private static short quantize(double offset) {
+            return (short) Mth.clamp(Math.round(offset * PRECISION), Short.MIN_VALUE, Short.MAX_VALUE);
+        }
     }
 
     public static enum Type {
 
-        /**
-         * Spawns a cluster of particles around the given position.
-         */
-        IDLE,
-
         /**
          * Spawns a pillar of particles centered on the given position.
          */
@@ -54,23 +78,26 @@ public class ParticleMessage {
 
         @Override
         public ParticleMessage read(FriendlyByteBuf buf) {
-            int id = buf.readInt();
-            double x = buf.readDouble();
-            double y = buf.readDouble();
-            double z = buf.readDouble();
-            int color = buf.readInt();
-            Type type = Type.values()[buf.readByte()];
-            return new ParticleMessage(id, x, y, z, color, type);
+            int id = buf.readVarInt();
+            int size = buf.readVarInt();
+            List<Entry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Type type = Type.values()[buf.readByte()];
+                entries.add(new Entry(type, buf.readShort(), buf.readShort(), buf.readShort()));
+            }
+            return new ParticleMessage(id, entries);
         }
 
         @Override
         public void write(ParticleMessage msg, FriendlyByteBuf buf) {
-            buf.writeInt(msg.gateId);
-            buf.writeDouble(msg.x);
-            buf.writeDouble(msg.y);
-            buf.writeDouble(msg.z);
-            buf.writeInt(msg.color);
-            buf.writeByte(msg.type.ordinal());
+            buf.writeVarInt(msg.gateId);
+            buf.writeVarInt(msg.entries.size());
+            for (Entry entry : msg.entries) {
+                buf.writeByte(entry.type.ordinal());
+                buf.writeShort(entry.x);
+                buf.writeShort(entry.y);
+                buf.writeShort(entry.z);
+            }
         }
 
         @Override
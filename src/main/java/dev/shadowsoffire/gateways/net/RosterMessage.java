@@ -0,0 +1,69 @@
+package dev.shadowsoffire.gateways.net;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import dev.shadowsoffire.gateways.client.ParticleHandler;
+import dev.shadowsoffire.placebo.network.MessageHelper;
+import dev.shadowsoffire.placebo.network.MessageProvider;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkEvent.Context;
+
+/**
+ * Updates the set of wave entity ids known to clients tracking a Gateway, which the client uses to draw idle particles on each wave entity.
+ * <p>
+ * Only the ids added and removed since the last update are sent. Players who begin tracking a Gateway receive the full set with {@link #reset} enabled.
+ */
+public class RosterMessage {
+
+    public int gateId;
+    public boolean reset;
+    public int[] added, removed;
+
+    public RosterMessage(int id, boolean reset, int[] added, int[] removed) {
+        this.gateId = id;
+        this.reset = reset;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    public static class Provider implements MessageProvider<RosterMessage> {
+
+        @Override
+        public Class<RosterMessage> getMsgClass() {
+            return RosterMessage.class;
+        }
+
+        @Override
+        public RosterMessage read(FriendlyByteBuf buf) {
+            int id = buf.readVarInt();
+            boolean reset = buf.readBoolean();
+            int[] added = buf.readVarIntArray();
+            int[] removed = buf.readVarIntArray();
+            return new RosterMessage(id, reset, added, removed);
+        }
+
+        @Override
+        public void write(RosterMessage msg, FriendlyByteBuf buf) {
+            buf.writeVarInt(msg.gateId);
+            buf.writeBoolean(msg.reset);
+            buf.writeVarIntArray(msg.added);
+            buf.writeVarIntArray(msg.removed);
+        }
+
+        @Override
+        public void handle(RosterMessage msg, Supplier<Context> ctx) {
+            MessageHelper.handlePacket(() -> {
+                ParticleHandler.handleRoster(msg);
+            }, ctx);
+        }
+
+        @Override
+        public Optional<NetworkDirection> getNetworkDirection() {
+            return Optional.of(NetworkDirection.PLAY_TO_CLIENT);
+        }
+
+    }
+
+}